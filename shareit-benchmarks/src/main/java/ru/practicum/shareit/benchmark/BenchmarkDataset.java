@@ -0,0 +1,86 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.context.ApplicationContext;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.item.Comment;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+class BenchmarkDataset {
+    private final List<Long> userIds = new ArrayList<>();
+    private final List<Long> itemIds = new ArrayList<>();
+
+    static BenchmarkDataset populate(ApplicationContext context, int users, int itemsPerOwner, int bookingsPerItem) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        ItemRepository itemRepository = context.getBean(ItemRepository.class);
+        ItemRequestRepository itemRequestRepository = context.getBean(ItemRequestRepository.class);
+        BookingRepository bookingRepository = context.getBean(BookingRepository.class);
+        CommentRepository commentRepository = context.getBean(CommentRepository.class);
+
+        BenchmarkDataset dataset = new BenchmarkDataset();
+        List<User> savedUsers = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            User user = Fixtures.user(0);
+            user.setId(null);
+            user.setEmail("benchmark" + i + "@shareit.ru");
+            savedUsers.add(userRepository.save(user));
+            dataset.userIds.add(savedUsers.get(i).getId());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int u = 0; u < users; u++) {
+            User owner = savedUsers.get(u);
+            User booker = savedUsers.get((u + 1) % users);
+
+            ItemRequest request = Fixtures.request(0, booker);
+            request.setId(null);
+            request = itemRequestRepository.save(request);
+
+            for (int i = 0; i < itemsPerOwner; i++) {
+                Item item = Fixtures.item(0, owner, i == 0 ? request : null);
+                item.setId(null);
+                item = itemRepository.save(item);
+                dataset.itemIds.add(item.getId());
+
+                List<Booking> bookings = new ArrayList<>();
+                for (int b = 0; b < bookingsPerItem; b++) {
+                    Booking booking = Fixtures.booking(0, booker, item, now.plusDays(2L * (b - bookingsPerItem / 2)));
+                    booking.setId(null);
+                    bookings.add(booking);
+                }
+                bookingRepository.saveAll(bookings);
+
+                Comment comment = Fixtures.comment(0, booker, item);
+                comment.setId(null);
+                commentRepository.save(comment);
+            }
+        }
+        return dataset;
+    }
+
+    long userId(int index) {
+        return userIds.get(index % userIds.size());
+    }
+
+    long itemId(int index) {
+        return itemIds.get(index % itemIds.size());
+    }
+
+    int users() {
+        return userIds.size();
+    }
+
+    int items() {
+        return itemIds.size();
+    }
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.benchmark;
+
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.ItemBookingView;
+import ru.practicum.shareit.item.Comment;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+
+final class Fixtures {
+    private Fixtures() {
+    }
+
+    static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setName("Пользователь " + id);
+        user.setEmail("user" + id + "@shareit.ru");
+        return user;
+    }
+
+    static Item item(long id, User owner, ItemRequest request) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName("Дрель " + id);
+        item.setDescription("Аккумуляторная дрель с набором бит, вариант " + id);
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item.setRequest(request);
+        return item;
+    }
+
+    static ItemRequest request(long id, User requestor) {
+        ItemRequest request = new ItemRequest();
+        request.setId(id);
+        request.setDescription("Нужна дрель на выходные, запрос " + id);
+        request.setRequestor(requestor);
+        request.setCreated(LocalDateTime.now().minusDays(id % 30));
+        return request;
+    }
+
+    static Booking booking(long id, User booker, Item item, LocalDateTime start) {
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setBooker(booker);
+        booking.setItem(item);
+        booking.setStartDate(start);
+        booking.setEndDate(start.plusDays(1));
+        booking.setStatus(BookingStatus.APPROVED);
+        return booking;
+    }
+
+    static Comment comment(long id, User author, Item item) {
+        Comment comment = new Comment();
+        comment.setId(id);
+        comment.setText("Отличная дрель, всё работает, отзыв " + id);
+        comment.setAuthor(author);
+        comment.setItem(item);
+        return comment;
+    }
+
+    static ItemBookingView itemBookingView(long itemId, long id, long bookerId, boolean past) {
+        return new ItemBookingView() {
+            @Override
+            public Long getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getBookerId() {
+                return bookerId;
+            }
+
+            @Override
+            public Boolean getPast() {
+                return past;
+            }
+        };
+    }
+}
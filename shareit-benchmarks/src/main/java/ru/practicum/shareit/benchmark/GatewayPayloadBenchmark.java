@@ -0,0 +1,59 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.user.User;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GatewayPayloadBenchmark {
+    @Param({"items", "bookings"})
+    private String payloadType;
+
+    @Param({"100", "2000"})
+    private int size;
+
+    private ObjectMapper mapper;
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        User owner = Fixtures.user(1);
+        User booker = Fixtures.user(2);
+        List<Object> body = new ArrayList<>();
+        for (long i = 1; i <= size; i++) {
+            Item item = Fixtures.item(i, owner, null);
+            body.add("items".equals(payloadType)
+                    ? ItemMapper.mapToItemDto(item)
+                    : BookingMapper.mapToBookingDto(Fixtures.booking(i, booker, item, LocalDateTime.now())));
+        }
+        payload = mapper.writeValueAsBytes(body);
+    }
+
+    @Benchmark
+    public byte[] jacksonRoundTrip() throws IOException {
+        Object tree = mapper.readValue(new ByteArrayInputStream(payload), Object.class);
+        return mapper.writeValueAsBytes(tree);
+    }
+
+    @Benchmark
+    public byte[] passThrough() {
+        return new ByteArrayInputStream(payload).readAllBytes();
+    }
+}
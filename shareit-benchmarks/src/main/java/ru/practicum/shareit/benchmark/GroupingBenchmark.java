@@ -0,0 +1,96 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.ItemBookingView;
+import ru.practicum.shareit.item.Comment;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemSearch;
+import ru.practicum.shareit.item.ItemServiceImpl;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.request.ItemRequestServiceImpl;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserIdIndex;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GroupingBenchmark {
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    @Param({"3"})
+    private int commentsPerItem;
+
+    private ItemServiceImpl itemService;
+    private ItemRequestServiceImpl itemRequestService;
+
+    @Setup
+    public void setUp() {
+        User owner = Fixtures.user(1);
+        User requestor = Fixtures.user(2);
+
+        List<Item> items = new ArrayList<>();
+        List<ItemBookingView> bookings = new ArrayList<>();
+        List<Comment> comments = new ArrayList<>();
+        List<ItemRequest> requests = new ArrayList<>();
+        List<Item> requestItems = new ArrayList<>();
+        for (long i = 1; i <= size; i++) {
+            Item item = Fixtures.item(i, owner, null);
+            items.add(item);
+            bookings.add(Fixtures.itemBookingView(i, i * 2, 2, true));
+            bookings.add(Fixtures.itemBookingView(i, i * 2 + 1, 2, false));
+            for (int c = 0; c < commentsPerItem; c++) {
+                comments.add(Fixtures.comment(i * commentsPerItem + c, requestor, item));
+            }
+
+            ItemRequest request = Fixtures.request(i, requestor);
+            requests.add(request);
+            requestItems.add(Fixtures.item(size + i, owner, request));
+        }
+
+        ItemRepository itemRepository = Stubs.of(ItemRepository.class, Map.of(
+                "findAllByOwnerId", items,
+                "findAllByRequestIdIn", requestItems));
+        UserRepository userRepository = Stubs.of(UserRepository.class, Map.of(
+                "findById", Optional.of(owner),
+                "existsById", true));
+        BookingRepository bookingRepository = Stubs.of(BookingRepository.class, Map.of(
+                "findLastAndNextByItemIdIn", bookings));
+        CommentRepository commentRepository = Stubs.of(CommentRepository.class, Map.of(
+                "findAllByItemIdIn", comments));
+        ItemRequestRepository itemRequestRepository = Stubs.of(ItemRequestRepository.class, Map.of(
+                "findAllByRequestorIdNot", requests));
+
+        itemService = new ItemServiceImpl(itemRepository, userRepository, bookingRepository, commentRepository,
+                itemRequestRepository, Stubs.of(ItemSearch.class, Map.of()));
+        itemRequestService = new ItemRequestServiceImpl(itemRequestRepository, userRepository,
+                new UserIdIndex(userRepository), itemRepository);
+    }
+
+    @Benchmark
+    public List<ItemDto> itemServiceGetAll() {
+        return itemService.getAll(1L, PageRequest.ofSize(size));
+    }
+
+    @Benchmark
+    public List<ItemRequestDto> itemRequestServiceGetAll() {
+        return itemRequestService.getAll(1L, PageRequest.ofSize(size));
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingItemDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    private Booking booking;
+    private Item item;
+    private BookingItemDto lastBooking;
+    private BookingItemDto nextBooking;
+    private List<CommentDto> comments;
+
+    @Setup
+    public void setUp() {
+        User owner = Fixtures.user(1);
+        User booker = Fixtures.user(2);
+        item = Fixtures.item(1, owner, Fixtures.request(1, booker));
+        booking = Fixtures.booking(1, booker, item, LocalDateTime.now());
+        lastBooking = new BookingItemDto(1L, 2L);
+        nextBooking = new BookingItemDto(2L, 2L);
+        comments = List.of(CommentMapper.mapToCommentDto(Fixtures.comment(1, booker, item)),
+                CommentMapper.mapToCommentDto(Fixtures.comment(2, booker, item)));
+    }
+
+    @Benchmark
+    public BookingDto mapToBookingDto() {
+        return BookingMapper.mapToBookingDto(booking);
+    }
+
+    @Benchmark
+    public ItemDto mapToItemDto() {
+        return ItemMapper.mapToItemDto(item);
+    }
+
+    @Benchmark
+    public ItemDto mapToItemDtoWithBookingsAndComments() {
+        return ItemMapper.mapToItemDto(item, lastBooking, nextBooking, comments);
+    }
+}
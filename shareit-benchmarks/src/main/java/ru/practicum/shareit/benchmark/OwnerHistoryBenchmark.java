@@ -0,0 +1,122 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OwnerHistoryBenchmark {
+    @Param({"1000", "10000", "50000"})
+    private int bookingsPerOwner;
+
+    @Param({"20"})
+    private int itemsPerOwner;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private BookingRepository bookingRepository;
+    private TransactionTemplate readOnlyTransaction;
+    private long ownerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.datasource.url=jdbc:h2:mem:history;DB_CLOSE_DELAY=-1",
+                        "--logging.level.root=WARN");
+        itemService = context.getBean(ItemService.class);
+        bookingRepository = context.getBean(BookingRepository.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        ItemRepository itemRepository = context.getBean(ItemRepository.class);
+        User owner = Fixtures.user(0);
+        owner.setId(null);
+        owner = userRepository.save(owner);
+        User booker = Fixtures.user(0);
+        booker.setId(null);
+        booker.setEmail("booker@shareit.ru");
+        booker = userRepository.save(booker);
+        ownerId = owner.getId();
+
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < itemsPerOwner; i++) {
+            Item item = Fixtures.item(0, owner, null);
+            item.setId(null);
+            items.add(item);
+        }
+        items = itemRepository.saveAll(items);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Booking> bookings = new ArrayList<>();
+        for (int b = 0; b < bookingsPerOwner; b++) {
+            Booking booking = Fixtures.booking(0, booker, items.get(b % itemsPerOwner),
+                    now.plusHours(b - bookingsPerOwner * 3L / 4));
+            booking.setId(null);
+            bookings.add(booking);
+            if (bookings.size() == 1000) {
+                bookingRepository.saveAll(bookings);
+                bookings.clear();
+            }
+        }
+        bookingRepository.saveAll(bookings);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemDto> itemsOfOwner() {
+        return itemService.getAll(ownerId, PageRequest.ofSize(itemsPerOwner));
+    }
+
+    @Benchmark
+    public Map<Long, List<Optional<Booking>>> fullHistoryOfOwnerItems() {
+        return readOnlyTransaction.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<Booking> history = bookingRepository.streamAllByItemOwnerId(ownerId)
+                    .collect(Collectors.toList());
+            return history.stream()
+                    .collect(Collectors.groupingBy(booking -> booking.getItem().getId()))
+                    .entrySet().stream()
+                    .collect(Collectors.toMap(Map.Entry::getKey, entry -> List.of(
+                            entry.getValue().stream()
+                                    .filter(booking -> booking.getStartDate().isBefore(now))
+                                    .max(Comparator.comparing(Booking::getStartDate)),
+                            entry.getValue().stream()
+                                    .filter(booking -> booking.getStartDate().isAfter(now))
+                                    .min(Comparator.comparing(Booking::getStartDate)))));
+        });
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestLoggingBenchmark {
+    @Param({"WARN", "INFO"})
+    private String level;
+
+    private Logger log;
+    private ItemCreateDto itemCreateDto;
+    private long itemId;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        LoggerContext context = new LoggerContext();
+        AppenderBase<ILoggingEvent> sink = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                blackhole.consume(event.getFormattedMessage());
+            }
+        };
+        sink.setContext(context);
+        sink.start();
+
+        log = context.getLogger(RequestLoggingBenchmark.class);
+        log.setAdditive(false);
+        log.setLevel(Level.toLevel(level));
+        log.addAppender(sink);
+
+        itemCreateDto = new ItemCreateDto();
+        itemCreateDto.setName("Дрель");
+        itemCreateDto.setDescription("Аккумуляторная дрель");
+        itemCreateDto.setAvailable(true);
+        itemId = 42L;
+    }
+
+    @Benchmark
+    public void stringFormat() {
+        log.info(String.format("Обновляем вещь %s с идентификатором %s", itemCreateDto, itemId));
+    }
+
+    @Benchmark
+    public void parameterized() {
+        log.info("Обновляем вещь {} с идентификатором {}", itemCreateDto, itemId);
+    }
+}
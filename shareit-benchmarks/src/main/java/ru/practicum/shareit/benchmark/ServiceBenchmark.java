@@ -0,0 +1,107 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.BookingCursor;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+    @Param({"200"})
+    private int users;
+
+    @Param({"5"})
+    private int itemsPerOwner;
+
+    @Param({"10"})
+    private int bookingsPerItem;
+
+    @Param({"20"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private BenchmarkDataset dataset;
+    private BookingService bookingService;
+    private ItemService itemService;
+    private ItemRequestService itemRequestService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.orm.jpa=WARN",
+                        "--logging.level.org.springframework.transaction=WARN",
+                        "--logging.level.org.springframework.transaction.interceptor=WARN",
+                        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN");
+        dataset = BenchmarkDataset.populate(context, users, itemsPerOwner, bookingsPerItem);
+        bookingService = context.getBean(BookingService.class);
+        itemService = context.getBean(ItemService.class);
+        itemRequestService = context.getBean(ItemRequestService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookingDto> bookingsOfUser() {
+        return bookingService.getAllByUser(randomUser(), BookingState.ALL,
+                PageRequest.of(0, pageSize, Sort.by("startDate").descending()));
+    }
+
+    @Benchmark
+    public List<BookingDto> bookingsOfOwnerItems() {
+        return bookingService.getAllByOwnerItems(randomUser(), BookingState.ALL,
+                PageRequest.of(0, pageSize, Sort.by("startDate").descending()));
+    }
+
+    @Benchmark
+    public List<BookingDto> bookingsOfOwnerItemsAfterCursor() {
+        return bookingService.getAllByOwnerItems(randomUser(), BookingState.ALL, BookingCursor.FIRST, pageSize);
+    }
+
+    @Benchmark
+    public List<ItemDto> itemsOfOwner() {
+        return itemService.getAll(randomUser(), PageRequest.ofSize(pageSize));
+    }
+
+    @Benchmark
+    public ItemDto item() {
+        int index = ThreadLocalRandom.current().nextInt(dataset.items());
+        return itemService.get(dataset.itemId(index), dataset.userId(index / itemsPerOwner));
+    }
+
+    @Benchmark
+    public List<ItemRequestDto> itemRequestsOfOthers() {
+        return itemRequestService.getAll(randomUser(),
+                PageRequest.of(0, pageSize, Sort.by("created").descending()));
+    }
+
+    private long randomUser() {
+        return dataset.userId(ThreadLocalRandom.current().nextInt(dataset.users()));
+    }
+}
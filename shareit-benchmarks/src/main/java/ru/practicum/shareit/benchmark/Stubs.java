@@ -0,0 +1,28 @@
+package ru.practicum.shareit.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+
+final class Stubs {
+    private Stubs() {
+    }
+
+    static <T> T of(Class<T> type, Map<String, Object> results) {
+        Object stub = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return type.getSimpleName() + "Stub";
+                default:
+                    if (!results.containsKey(method.getName())) {
+                        throw new UnsupportedOperationException(method.toString());
+                    }
+                    return results.get(method.getName());
+            }
+        });
+        return type.cast(stub);
+    }
+}
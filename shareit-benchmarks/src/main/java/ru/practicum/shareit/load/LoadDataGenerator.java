@@ -0,0 +1,179 @@
+package ru.practicum.shareit.load;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItServer;
+import ru.practicum.shareit.booking.BookingStatus;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+@Slf4j
+public class LoadDataGenerator {
+    private static final int BATCH_SIZE = 1000;
+    private static final String[] NAMES = {"Дрель", "Перфоратор", "Пила", "Лестница", "Палатка", "Велосипед",
+            "Проектор", "Шуруповёрт", "Газонокосилка", "Байдарка", "Мангал", "Самокат"};
+    private static final String[] TRAITS = {"аккумуляторная", "профессиональная", "складная", "лёгкая",
+            "детская", "туристическая", "мощная", "компактная"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Random random;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    LoadDataGenerator(JdbcTemplate jdbcTemplate, long seed) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.random = new Random(seed);
+    }
+
+    public static void main(String[] args) throws IOException {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItServer.class)
+                .web(WebApplicationType.NONE)
+                .run(args)) {
+            Environment env = context.getEnvironment();
+            LoadDataGenerator generator = new LoadDataGenerator(context.getBean(JdbcTemplate.class),
+                    env.getProperty("load.seed", Long.class, 42L));
+            generator.generate(
+                    env.getProperty("load.users", Integer.class, 1000),
+                    env.getProperty("load.items-per-owner", Integer.class, 5),
+                    env.getProperty("load.bookings", Integer.class, 50_000),
+                    env.getProperty("load.zipf-exponent", Double.class, 1.1),
+                    Path.of(env.getProperty("load.manifest", "target/load-manifest.csv")));
+        }
+    }
+
+    void generate(int users, int itemsPerOwner, int bookings, double zipfExponent, Path manifest) throws IOException {
+        long started = System.currentTimeMillis();
+        String emailPattern = "load-" + runId + "-%";
+
+        List<Object[]> userRows = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            userRows.add(new Object[]{"load-" + runId + "-" + i + "@shareit.ru", "Пользователь " + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (email, name) VALUES (?, ?)", userRows, BATCH_SIZE,
+                (ps, row) -> {
+                    ps.setString(1, (String) row[0]);
+                    ps.setString(2, (String) row[1]);
+                });
+        List<Long> userIds = jdbcTemplate.queryForList(
+                "SELECT id FROM users WHERE email LIKE ? ORDER BY id", Long.class, emailPattern);
+        log.info("Создано пользователей: {}", userIds.size());
+
+        List<Object[]> requestRows = new ArrayList<>();
+        for (int i = 0; i < users / 5; i++) {
+            requestRows.add(new Object[]{randomOf(userIds), "Нужна " + randomName().toLowerCase() + " на выходные",
+                    Timestamp.valueOf(LocalDateTime.now().minusDays(random.nextInt(90)))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO requests (requestor_id, description, created) VALUES (?, ?, ?)",
+                requestRows, BATCH_SIZE, (ps, row) -> {
+                    ps.setLong(1, (Long) row[0]);
+                    ps.setString(2, (String) row[1]);
+                    ps.setTimestamp(3, (Timestamp) row[2]);
+                });
+        List<Long> requestIds = jdbcTemplate.queryForList("SELECT id FROM requests WHERE requestor_id IN " +
+                "(SELECT id FROM users WHERE email LIKE ?) ORDER BY id", Long.class, emailPattern);
+        log.info("Создано запросов: {}", requestIds.size());
+
+        List<Object[]> itemRows = new ArrayList<>();
+        for (Long ownerId : userIds) {
+            for (int i = 0; i < itemsPerOwner; i++) {
+                String name = randomName();
+                Long requestId = !requestIds.isEmpty() && random.nextInt(10) == 0 ? randomOf(requestIds) : null;
+                itemRows.add(new Object[]{name, TRAITS[random.nextInt(TRAITS.length)] + " " + name.toLowerCase(),
+                        ownerId, requestId, random.nextInt(20) != 0});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO items (name, description, user_id, request_id, is_available) " +
+                "VALUES (?, ?, ?, ?, ?)", itemRows, BATCH_SIZE, (ps, row) -> {
+                    ps.setString(1, (String) row[0]);
+                    ps.setString(2, (String) row[1]);
+                    ps.setLong(3, (Long) row[2]);
+                    ps.setObject(4, row[3]);
+                    ps.setBoolean(5, (Boolean) row[4]);
+                });
+        List<long[]> items = jdbcTemplate.query("SELECT id, user_id FROM items WHERE user_id IN " +
+                        "(SELECT id FROM users WHERE email LIKE ?) ORDER BY id",
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)}, emailPattern);
+        log.info("Создано вещей: {}", items.size());
+
+        List<long[]> popularity = new ArrayList<>(items);
+        Collections.shuffle(popularity, random);
+        ZipfSampler sampler = new ZipfSampler(popularity.size(), zipfExponent);
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> bookingRows = new ArrayList<>();
+        List<Object[]> commentRows = new ArrayList<>();
+        for (int i = 0; i < bookings; i++) {
+            long[] item = popularity.get(sampler.next(random));
+            long bookerId = randomOf(userIds);
+            if (bookerId == item[1]) {
+                continue;
+            }
+            LocalDateTime start = now.plusHours(random.nextInt(24 * 545) - 24 * 365);
+            LocalDateTime end = start.plusHours(1 + random.nextInt(24 * 7));
+            BookingStatus status = randomStatus(start.isBefore(now));
+            bookingRows.add(new Object[]{status.name(), bookerId, item[0], Timestamp.valueOf(start),
+                    Timestamp.valueOf(end)});
+            if (status == BookingStatus.APPROVED && end.isBefore(now) && random.nextInt(10) == 0) {
+                commentRows.add(new Object[]{bookerId, item[0], "Всё отлично, рекомендую"});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (status, booker_id, item_id, start_date, end_date) " +
+                "VALUES (?, ?, ?, ?, ?)", bookingRows, BATCH_SIZE, (ps, row) -> {
+                    ps.setString(1, (String) row[0]);
+                    ps.setLong(2, (Long) row[1]);
+                    ps.setLong(3, (Long) row[2]);
+                    ps.setTimestamp(4, (Timestamp) row[3]);
+                    ps.setTimestamp(5, (Timestamp) row[4]);
+                });
+        jdbcTemplate.batchUpdate("INSERT INTO comments (author_id, item_id, text) VALUES (?, ?, ?)",
+                commentRows, BATCH_SIZE, (ps, row) -> {
+                    ps.setLong(1, (Long) row[0]);
+                    ps.setLong(2, (Long) row[1]);
+                    ps.setString(3, (String) row[2]);
+                });
+        log.info("Создано бронирований: {}, отзывов: {}", bookingRows.size(), commentRows.size());
+
+        if (manifest.getParent() != null) {
+            Files.createDirectories(manifest.getParent());
+        }
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(manifest, StandardCharsets.UTF_8))) {
+            writer.println("itemId,ownerId");
+            for (long[] item : items) {
+                writer.println(item[0] + "," + item[1]);
+            }
+        }
+        log.info("Набор данных {} сгенерирован за {} мс, манифест: {}", runId,
+                System.currentTimeMillis() - started, manifest.toAbsolutePath());
+    }
+
+    private BookingStatus randomStatus(boolean past) {
+        int roll = random.nextInt(100);
+        if (past) {
+            return roll < 85 ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        }
+        if (roll < 60) {
+            return BookingStatus.APPROVED;
+        }
+        return roll < 90 ? BookingStatus.WAITING : BookingStatus.REJECTED;
+    }
+
+    private String randomName() {
+        return NAMES[random.nextInt(NAMES.length)];
+    }
+
+    private <T> T randomOf(List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
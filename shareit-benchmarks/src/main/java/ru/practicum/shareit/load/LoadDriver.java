@@ -0,0 +1,210 @@
+package ru.practicum.shareit.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class LoadDriver {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+    private static final String[] SEARCH_TEXTS = {"дрель", "пила", "палатка", "велосипед", "складная", "мощная",
+            "проектор", "самокат", "байдарка", "лестница"};
+
+    private final HttpClient client;
+    private final String gateway;
+    private final List<long[]> items;
+    private final Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+    private volatile boolean recording;
+
+    LoadDriver(String gateway, List<long[]> items) {
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.gateway = gateway;
+        this.items = items;
+        for (String scenario : List.of("search", "owner-items", "owner-bookings", "booking-create",
+                "booking-approve")) {
+            recorders.put(scenario, new LatencyRecorder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        List<long[]> items = readManifest(Path.of(options.getOrDefault("manifest", "target/load-manifest.csv")));
+        LoadDriver driver = new LoadDriver(options.getOrDefault("gateway", "http://localhost:8080"), items);
+        driver.run(Integer.parseInt(options.getOrDefault("threads", "16")),
+                Duration.parse("PT" + options.getOrDefault("warmup", "10s")),
+                Duration.parse("PT" + options.getOrDefault("duration", "60s")),
+                parseMix(options.getOrDefault("mix", "search=40,owner-items=20,owner-bookings=20,booking=20")),
+                Long.parseLong(options.getOrDefault("seed", "42")));
+    }
+
+    void run(int threads, Duration warmup, Duration duration, Map<String, Integer> mix, long seed)
+            throws InterruptedException, ExecutionException {
+        List<String> weighted = new ArrayList<>();
+        mix.forEach((scenario, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                weighted.add(scenario);
+            }
+        });
+
+        long deadline = System.nanoTime() + warmup.toNanos() + duration.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<?>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Random random = new Random(seed + t);
+            workers.add(executor.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    execute(weighted.get(random.nextInt(weighted.size())), random);
+                }
+            }));
+        }
+        Thread.sleep(warmup.toMillis());
+        recording = true;
+        executor.shutdown();
+        if (!executor.awaitTermination(duration.toMillis() + 60_000, TimeUnit.MILLISECONDS)) {
+            executor.shutdownNow();
+            throw new IllegalStateException("Нагрузочные потоки не завершились за отведённое время");
+        }
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        report(duration);
+    }
+
+    private void execute(String scenario, Random random) {
+        long[] item = items.get(random.nextInt(items.size()));
+        long userId = items.get(random.nextInt(items.size()))[1];
+        switch (scenario) {
+            case "search":
+                String text = URLEncoder.encode(SEARCH_TEXTS[random.nextInt(SEARCH_TEXTS.length)],
+                        StandardCharsets.UTF_8);
+                send("search", get("/items/search?text=" + text + "&from=0&size=20", userId));
+                break;
+            case "owner-items":
+                send("owner-items", get("/items?from=0&size=20", item[1]));
+                break;
+            case "owner-bookings":
+                send("owner-bookings", get("/bookings/owner?state=ALL&from=0&size=20", item[1]));
+                break;
+            case "booking":
+                if (userId == item[1]) {
+                    return;
+                }
+                LocalDateTime start = LocalDateTime.now().plusDays(1 + random.nextInt(3650))
+                        .plusMinutes(random.nextInt(1440)).truncatedTo(ChronoUnit.SECONDS);
+                String body = String.format("{\"itemId\":%d,\"start\":\"%s\",\"end\":\"%s\"}",
+                        item[0], start, start.plusHours(1 + random.nextInt(48)));
+                HttpResponse<String> created = send("booking-create", HttpRequest.newBuilder(uri("/bookings"))
+                        .header(USER_HEADER, String.valueOf(userId))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build());
+                Matcher matcher = created != null && created.statusCode() / 100 == 2
+                        ? ID.matcher(created.body()) : null;
+                if (matcher != null && matcher.find()) {
+                    send("booking-approve", HttpRequest.newBuilder(uri("/bookings/" + matcher.group(1) + "?approved=true"))
+                            .header(USER_HEADER, String.valueOf(item[1]))
+                            .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                            .build());
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Неизвестный сценарий: " + scenario);
+        }
+    }
+
+    private HttpRequest get(String path, long userId) {
+        return HttpRequest.newBuilder(uri(path))
+                .header(USER_HEADER, String.valueOf(userId))
+                .GET()
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create(gateway + path);
+    }
+
+    private HttpResponse<String> send(String scenario, HttpRequest request) {
+        long started = System.nanoTime();
+        HttpResponse<String> response = null;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            response = null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (recording) {
+            recorders.get(scenario).record(System.nanoTime() - started,
+                    response != null && response.statusCode() / 100 == 2);
+        }
+        return response;
+    }
+
+    private void report(Duration duration) {
+        System.out.printf("%-16s %10s %8s %10s %9s %9s %9s %9s%n",
+                "scenario", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        recorders.forEach((scenario, recorder) -> {
+            LatencyRecorder.Snapshot snapshot = recorder.snapshot();
+            System.out.printf("%-16s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                    scenario, snapshot.count(), snapshot.errors(),
+                    snapshot.count() / (double) duration.toSeconds(),
+                    snapshot.percentileMillis(50), snapshot.percentileMillis(90),
+                    snapshot.percentileMillis(99), snapshot.percentileMillis(100));
+        });
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (arg.startsWith("--") && separator > 2) {
+                options.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        return options;
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.split("=");
+            weights.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    private static List<long[]> readManifest(Path manifest) throws IOException {
+        List<long[]> items = new ArrayList<>();
+        for (String line : Files.readAllLines(manifest, StandardCharsets.UTF_8)) {
+            String[] parts = line.split(",");
+            if (parts.length == 2 && Character.isDigit(parts[0].charAt(0))) {
+                items.add(new long[]{Long.parseLong(parts[0]), Long.parseLong(parts[1])});
+            }
+        }
+        return items;
+    }
+}
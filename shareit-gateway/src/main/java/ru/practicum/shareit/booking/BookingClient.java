@@ -2,32 +2,35 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingState;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerExchangeFactory;
 
+import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
+    private static final String ITEMS_PREFIX = "/items/";
+
+    private final ResponseCache cache;
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, ServerExchangeFactory exchangeFactory,
+                         ResponseCache cache) {
+        super(exchangeFactory.create(serverUrl + API_PREFIX));
+        this.cache = cache;
     }
 
-    public ResponseEntity<Object> getBookings(long userId, BookingState state, int from, int size) {
+    public Mono<ResponseEntity<Object>> getBookings(long userId, BookingState state, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
@@ -36,7 +39,11 @@ public class BookingClient extends BaseClient {
         return get("?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getBookingsOfOwner(long userId, BookingState state, int from, int size) {
+    public ResponseEntity<StreamingResponseBody> exportBookingsOfOwner(long userId) throws IOException {
+        return exchange.download("/owner/export", userId);
+    }
+
+    public Mono<ResponseEntity<Object>> getBookingsOfOwner(long userId, BookingState state, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "state", state.name(),
                 "from", from,
@@ -45,19 +52,44 @@ public class BookingClient extends BaseClient {
         return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
 
+    public Mono<ResponseEntity<Object>> getBookingsAfterCursor(long userId, BookingState state, String cursor, int size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "cursor", cursor,
+                "size", size
+        );
+        return get("?state={state}&cursor={cursor}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getBookingsOfOwnerAfterCursor(long userId, BookingState state, String cursor, int size) {
+        Map<String, Object> parameters = Map.of(
+                "state", state.name(),
+                "cursor", cursor,
+                "size", size
+        );
+        return get("/owner?state={state}&cursor={cursor}&size={size}", userId, parameters);
+    }
+
+
+    public Mono<ResponseEntity<Object>> bookItem(long userId, BookingCreateDto requestDto) {
+        return post("", userId, requestDto)
+                .doOnNext(response -> cache.evict(ITEMS_PREFIX + requestDto.getItemId()));
+    }
 
-    public ResponseEntity<Object> bookItem(long userId, BookingCreateDto requestDto) {
-        return post("", userId, requestDto);
+    public Mono<ResponseEntity<Object>> bookItems(long userId, List<BookingCreateDto> requestDtos) {
+        return post("/batch", userId, requestDtos)
+                .doOnNext(response -> requestDtos.forEach(requestDto -> cache.evict(ITEMS_PREFIX + requestDto.getItemId())));
     }
 
-    public ResponseEntity<Object> updateStatus(long userId, long bookingId, Boolean approved) {
+    public Mono<ResponseEntity<Object>> updateStatus(long userId, long bookingId, Boolean approved) {
         Map<String, Object> parameters = Map.of(
                 "approved", approved
         );
-        return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
+        return patch("/" + bookingId + "?approved={approved}", userId, parameters, null)
+                .doOnNext(response -> cache.evictAll(ITEMS_PREFIX));
     }
 
-    public ResponseEntity<Object> getBooking(long userId, long bookingId) {
+    public Mono<ResponseEntity<Object>> getBooking(long userId, long bookingId) {
         return get("/" + bookingId, userId);
     }
 }
\ No newline at end of file
@@ -6,13 +6,19 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.exception.NotSupportedStateException;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.io.IOException;
+import java.util.List;
 
 
 @Controller
@@ -25,14 +31,22 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @PostMapping
-    public ResponseEntity<Object> createBooking(@RequestHeader(CUSTOM_USER_ID_HEADER) long userId,
+    public Mono<ResponseEntity<Object>> createBooking(@RequestHeader(CUSTOM_USER_ID_HEADER) long userId,
                                                 @Valid @RequestBody BookingCreateDto bookingCreateDto) {
         log.info("Создается бронь {}", bookingCreateDto);
         return bookingClient.bookItem(userId, bookingCreateDto);
     }
 
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> createBookings(@RequestHeader(CUSTOM_USER_ID_HEADER) long userId,
+                                                 @RequestBody @NotEmpty @Size(max = 100)
+                                                 List<@Valid BookingCreateDto> bookingCreateDtos) {
+        log.info("Создается пакет из {} броней пользователя {}", bookingCreateDtos.size(), userId);
+        return bookingClient.bookItems(userId, bookingCreateDtos);
+    }
+
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> updateStatusOfBooking(@PathVariable long bookingId,
+    public Mono<ResponseEntity<Object>> updateStatusOfBooking(@PathVariable long bookingId,
                                                         @RequestHeader(CUSTOM_USER_ID_HEADER) long userId,
                                                         @RequestParam Boolean approved) {
         log.info("Обновляется статус брони с идентификатором {}", bookingId);
@@ -40,14 +54,14 @@ public class BookingController {
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBooking(@PathVariable long bookingId,
+    public Mono<ResponseEntity<Object>> getBooking(@PathVariable long bookingId,
                                              @RequestHeader(CUSTOM_USER_ID_HEADER) long userId) {
         log.info("Получаем бронь с идентификатором {}", bookingId);
         return bookingClient.getBooking(userId, bookingId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getBookingsOfUser(@RequestHeader(CUSTOM_USER_ID_HEADER) long userId,
+    public Mono<ResponseEntity<Object>> getBookingsOfUser(@RequestHeader(CUSTOM_USER_ID_HEADER) long userId,
                                                     @RequestParam(name = "state", defaultValue = "ALL") String state,
                                                     @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") int from,
                                                     @Positive @RequestParam(name = "size", defaultValue = "10") int size) {
@@ -58,7 +72,7 @@ public class BookingController {
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getBookingsOfOwnerItems(@RequestHeader(CUSTOM_USER_ID_HEADER) long userId,
+    public Mono<ResponseEntity<Object>> getBookingsOfOwnerItems(@RequestHeader(CUSTOM_USER_ID_HEADER) long userId,
                                                           @RequestParam(name = "state", defaultValue = "ALL") String state,
                                                           @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") int from,
                                                           @Positive @RequestParam(name = "size", defaultValue = "10") int size) {
@@ -68,4 +82,33 @@ public class BookingController {
 
         return bookingClient.getBookingsOfOwner(userId, bookingState, from, size);
     }
+
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportBookingsOfOwnerItems(@RequestHeader(CUSTOM_USER_ID_HEADER) long userId)
+            throws IOException {
+        log.info("Выгружаем все брони владельца вещей {}", userId);
+        return bookingClient.exportBookingsOfOwner(userId);
+    }
+
+    @GetMapping(params = "cursor")
+    public Mono<ResponseEntity<Object>> getBookingsOfUserAfterCursor(@RequestHeader(CUSTOM_USER_ID_HEADER) long userId,
+                                                               @RequestParam(name = "state", defaultValue = "ALL") String state,
+                                                               @RequestParam(name = "cursor") String cursor,
+                                                               @Positive @RequestParam(name = "size", defaultValue = "10") int size) {
+        log.info("Получаем брони пользователя с state {}, userId={}, cursor={}, size={}", state, userId, cursor, size);
+        BookingState bookingState = BookingState.from(state)
+                .orElseThrow(() -> new NotSupportedStateException("Unknown state: " + state));
+        return bookingClient.getBookingsAfterCursor(userId, bookingState, cursor, size);
+    }
+
+    @GetMapping(path = "/owner", params = "cursor")
+    public Mono<ResponseEntity<Object>> getBookingsOfOwnerItemsAfterCursor(@RequestHeader(CUSTOM_USER_ID_HEADER) long userId,
+                                                                     @RequestParam(name = "state", defaultValue = "ALL") String state,
+                                                                     @RequestParam(name = "cursor") String cursor,
+                                                                     @Positive @RequestParam(name = "size", defaultValue = "10") int size) {
+        log.info("Получаем брони владельца вещей с state {}, userId={}, cursor={}, size={}", state, userId, cursor, size);
+        BookingState bookingState = BookingState.from(state)
+                .orElseThrow(() -> new NotSupportedStateException("Unknown state: " + state));
+        return bookingClient.getBookingsOfOwnerAfterCursor(userId, bookingState, cursor, size);
+    }
 }
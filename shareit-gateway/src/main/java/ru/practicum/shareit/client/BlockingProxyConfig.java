@@ -0,0 +1,97 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodReturnValueHandler;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.HttpEntityMethodProcessor;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConditionalOnProperty(name = "shareit-gateway.proxy.mode", havingValue = "blocking", matchIfMissing = true)
+public class BlockingProxyConfig implements WebMvcRegistrations {
+
+    @Override
+    public RequestMappingHandlerAdapter getRequestMappingHandlerAdapter() {
+        return new RequestMappingHandlerAdapter() {
+            @Override
+            public void afterPropertiesSet() {
+                super.afterPropertiesSet();
+                List<HandlerMethodReturnValueHandler> handlers = new ArrayList<>(getReturnValueHandlers());
+                HandlerMethodReturnValueHandler entityHandler = handlers.stream()
+                        .filter(handler -> handler instanceof HttpEntityMethodProcessor)
+                        .findFirst()
+                        .orElseThrow();
+                handlers.add(0, new ResolvedMonoReturnValueHandler(entityHandler));
+                setReturnValueHandlers(handlers);
+            }
+        };
+    }
+
+    private static class ResolvedMonoReturnValueHandler implements HandlerMethodReturnValueHandler {
+        private final HandlerMethodReturnValueHandler entityHandler;
+
+        ResolvedMonoReturnValueHandler(HandlerMethodReturnValueHandler entityHandler) {
+            this.entityHandler = entityHandler;
+        }
+
+        @Override
+        public boolean supportsReturnType(MethodParameter returnType) {
+            return Mono.class.isAssignableFrom(returnType.getParameterType())
+                    && entityHandler.supportsReturnType(new MonoValueParameter(returnType));
+        }
+
+        @Override
+        public void handleReturnValue(Object returnValue, MethodParameter returnType,
+                                      ModelAndViewContainer mavContainer, NativeWebRequest webRequest)
+                throws Exception {
+            Object value;
+            try {
+                value = returnValue != null ? ((Mono<?>) returnValue).block() : null;
+            } catch (RuntimeException e) {
+                Throwable cause = Exceptions.unwrap(e);
+                throw cause instanceof Exception ? (Exception) cause : e;
+            }
+            entityHandler.handleReturnValue(value, new MonoValueParameter(returnType), mavContainer, webRequest);
+        }
+    }
+
+    private static class MonoValueParameter extends MethodParameter {
+        private final ResolvableType valueType;
+
+        MonoValueParameter(MethodParameter returnType) {
+            super(returnType);
+            this.valueType = ResolvableType.forMethodParameter(returnType).getGeneric();
+        }
+
+        private MonoValueParameter(MonoValueParameter original) {
+            super(original);
+            this.valueType = original.valueType;
+        }
+
+        @Override
+        public Class<?> getParameterType() {
+            return valueType.toClass();
+        }
+
+        @Override
+        public Type getGenericParameterType() {
+            return valueType.getType();
+        }
+
+        @Override
+        public MonoValueParameter clone() {
+            return new MonoValueParameter(this);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+@Component
+public class ResponseCache {
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final int maxSize;
+    private final Map<Key, Entry> entries;
+    private final Map<Key, Object> loading = new HashMap<>();
+
+    public ResponseCache(@Value("${shareit-gateway.cache.enabled:true}") boolean enabled,
+                         @Value("${shareit-gateway.cache.ttl:30s}") Duration ttl,
+                         @Value("${shareit-gateway.cache.max-size:10000}") int maxSize) {
+        this.enabled = enabled && !ttl.isZero() && maxSize > 0;
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > ResponseCache.this.maxSize;
+            }
+        };
+    }
+
+    public Mono<ResponseEntity<Object>> get(String path, long userId, Supplier<Mono<ResponseEntity<Object>>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        Key key = new Key(path, userId);
+        Object token = new Object();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt - System.nanoTime() > 0) {
+                return Mono.just(entry.response);
+            }
+            entries.remove(key);
+            loading.put(key, token);
+        }
+        return loader.get()
+                .doOnNext(response -> {
+                    synchronized (entries) {
+                        if (loading.remove(key, token) && response.getStatusCode().is2xxSuccessful()) {
+                            entries.put(key, new Entry(response, System.nanoTime() + ttlNanos));
+                        }
+                    }
+                })
+                .doFinally(signal -> {
+                    synchronized (entries) {
+                        loading.remove(key, token);
+                    }
+                });
+    }
+
+    public void evict(String path) {
+        synchronized (entries) {
+            entries.keySet().removeIf(key -> key.path.equals(path));
+            loading.keySet().removeIf(key -> key.path.equals(path));
+        }
+    }
+
+    public void evictAll(String pathPrefix) {
+        synchronized (entries) {
+            entries.keySet().removeIf(key -> key.path.startsWith(pathPrefix));
+            loading.keySet().removeIf(key -> key.path.startsWith(pathPrefix));
+        }
+    }
+
+    private static final class Key {
+        private final String path;
+        private final long userId;
+
+        private Key(String path, long userId) {
+            this.path = path;
+            this.userId = userId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return userId == key.userId && path.equals(key.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, userId);
+        }
+    }
+
+    private static final class Entry {
+        private final ResponseEntity<Object> response;
+        private final long expiresAt;
+
+        private Entry(ResponseEntity<Object> response, long expiresAt) {
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+public class RestTemplateExchange implements ServerExchange {
+    private final RestTemplate rest;
+    private final ClientHttpRequestFactory streamingRequestFactory;
+    private final boolean passThrough;
+
+    public RestTemplateExchange(RestTemplate rest, ClientHttpRequestFactory streamingRequestFactory,
+                                boolean passThrough) {
+        this.rest = rest;
+        this.streamingRequestFactory = streamingRequestFactory;
+        this.passThrough = passThrough;
+    }
+
+    @Override
+    public <T> Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                                     @Nullable Map<String, Object> parameters, @Nullable T body) {
+        if (passThrough) {
+            return Mono.just(passThrough(method, path, userId, parameters, body));
+        }
+        return Mono.just(makeAndSendRequest(method, path, userId, parameters, body));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> stream(String path, @Nullable Long userId, MediaType contentType,
+                                               InputStream body) {
+        try {
+            ClientHttpRequest request = streamingRequestFactory.createRequest(
+                    rest.getUriTemplateHandler().expand(path), HttpMethod.POST);
+            request.getHeaders().addAll(BaseClient.defaultHeaders(userId));
+            request.getHeaders().setContentType(contentType);
+            if (request instanceof StreamingHttpOutputMessage) {
+                ((StreamingHttpOutputMessage) request).setBody(outputStream -> StreamUtils.copy(body, outputStream));
+            } else {
+                StreamUtils.copy(body, request.getBody());
+            }
+
+            try (ClientHttpResponse response = request.execute()) {
+                return Mono.just(ResponseEntity.status(response.getRawStatusCode())
+                        .headers(BaseClient.passThroughHeaders(response.getHeaders()))
+                        .<Object>body(StreamUtils.copyToByteArray(response.getBody())));
+            }
+        } catch (IOException e) {
+            return Mono.error(e);
+        }
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> download(String path, @Nullable Long userId) throws IOException {
+        ClientHttpRequest request = streamingRequestFactory.createRequest(
+                rest.getUriTemplateHandler().expand(path), HttpMethod.GET);
+        request.getHeaders().addAll(BaseClient.defaultHeaders(userId));
+        ClientHttpResponse response = request.execute();
+
+        return ResponseEntity.status(response.getRawStatusCode())
+                .headers(BaseClient.passThroughHeaders(response.getHeaders()))
+                .body(outputStream -> {
+                    try (response) {
+                        StreamUtils.copy(response.getBody(), outputStream);
+                    }
+                });
+    }
+
+    private <T> ResponseEntity<Object> passThrough(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, BaseClient.defaultHeaders(userId));
+
+        try {
+            ResponseEntity<byte[]> response = rest.exchange(path, method, requestEntity, byte[].class,
+                    parameters != null ? parameters : Map.of());
+            return ResponseEntity.status(response.getStatusCode())
+                    .headers(BaseClient.passThroughHeaders(response.getHeaders()))
+                    .body(response.getBody());
+        } catch (HttpStatusCodeException e) {
+            ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(e.getStatusCode());
+            if (e.getResponseHeaders() != null) {
+                responseBuilder.headers(BaseClient.passThroughHeaders(e.getResponseHeaders()));
+            }
+            return responseBuilder.body(e.getResponseBodyAsByteArray());
+        }
+    }
+
+    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, BaseClient.defaultHeaders(userId));
+
+        ResponseEntity<Object> shareitServerResponse;
+        try {
+            if (parameters != null) {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+            } else {
+                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+            }
+        } catch (HttpStatusCodeException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+        }
+        return prepareGatewayResponse(shareitServerResponse);
+    }
+
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
+        if (response.getStatusCode().is2xxSuccessful()) {
+            return response;
+        }
+
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+
+        if (response.hasBody()) {
+            return responseBuilder.body(response.getBody());
+        }
+
+        return responseBuilder.build();
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+@Component
+@ConditionalOnProperty(name = "shareit-gateway.proxy.mode", havingValue = "blocking", matchIfMissing = true)
+public class RestTemplateExchangeFactory implements ServerExchangeFactory {
+    private final RestTemplateBuilder builder;
+    private final ClientHttpRequestFactory requestFactory;
+    private final boolean passThrough;
+
+    public RestTemplateExchangeFactory(RestTemplateBuilder builder, ClientHttpRequestFactory requestFactory,
+                                       @Value("${shareit-gateway.proxy.pass-through:false}") boolean passThrough) {
+        this.builder = builder;
+        this.requestFactory = requestFactory;
+        this.passThrough = passThrough;
+    }
+
+    @Override
+    public ServerExchange create(String baseUrl) {
+        return new RestTemplateExchange(
+                builder
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(baseUrl))
+                        .requestFactory(() -> requestFactory)
+                        .build(),
+                requestFactory,
+                passThrough
+        );
+    }
+}
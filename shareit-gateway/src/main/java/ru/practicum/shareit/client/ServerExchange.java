@@ -0,0 +1,21 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+public interface ServerExchange {
+    <T> Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                              @Nullable Map<String, Object> parameters, @Nullable T body);
+
+    Mono<ResponseEntity<Object>> stream(String path, @Nullable Long userId, MediaType contentType, InputStream body);
+
+    ResponseEntity<StreamingResponseBody> download(String path, @Nullable Long userId) throws IOException;
+}
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.InputStream;
+import java.util.Map;
+
+public class WebClientExchange implements ServerExchange {
+    private static final int STREAM_BUFFER_SIZE = 8192;
+
+    private final WebClient webClient;
+    private final boolean passThrough;
+
+    public WebClientExchange(WebClient webClient, boolean passThrough) {
+        this.webClient = webClient;
+        this.passThrough = passThrough;
+    }
+
+    @Override
+    public <T> Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path, @Nullable Long userId,
+                                                     @Nullable Map<String, Object> parameters, @Nullable T body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> headers.addAll(BaseClient.defaultHeaders(userId)));
+        WebClient.RequestHeadersSpec<?> spec = body != null ? request.bodyValue(body) : request;
+
+        return spec.exchangeToMono(response -> {
+            if (passThrough) {
+                return response.toEntity(byte[].class)
+                        .map(entity -> ResponseEntity.status(entity.getStatusCode())
+                                .headers(BaseClient.passThroughHeaders(entity.getHeaders()))
+                                .body(entity.getBody()));
+            }
+            if (response.statusCode().is2xxSuccessful()) {
+                return response.toEntity(Object.class);
+            }
+            return response.bodyToMono(byte[].class)
+                    .map(errorBody -> ResponseEntity.status(response.statusCode()).<Object>body(errorBody))
+                    .defaultIfEmpty(ResponseEntity.status(response.statusCode()).build());
+        });
+    }
+
+    @Override
+    public Mono<ResponseEntity<Object>> stream(String path, @Nullable Long userId, MediaType contentType,
+                                               InputStream body) {
+        Flux<DataBuffer> content = DataBufferUtils.readInputStream(() -> body,
+                        DefaultDataBufferFactory.sharedInstance, STREAM_BUFFER_SIZE)
+                .subscribeOn(Schedulers.boundedElastic());
+
+        return webClient.post()
+                .uri(path)
+                .headers(headers -> headers.addAll(BaseClient.defaultHeaders(userId)))
+                .contentType(contentType)
+                .body(BodyInserters.fromDataBuffers(content))
+                .exchangeToMono(response -> response.toEntity(byte[].class)
+                        .map(entity -> ResponseEntity.status(entity.getStatusCode())
+                                .headers(BaseClient.passThroughHeaders(entity.getHeaders()))
+                                .<Object>body(entity.getBody())));
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> download(String path, @Nullable Long userId) {
+        ResponseEntity<Flux<DataBuffer>> response = webClient.get()
+                .uri(path)
+                .headers(headers -> headers.addAll(BaseClient.defaultHeaders(userId)))
+                .retrieve()
+                .onStatus(status -> true, clientResponse -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .block();
+
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(BaseClient.passThroughHeaders(response.getHeaders()))
+                .body(outputStream -> DataBufferUtils.write(response.getBody(), outputStream)
+                        .map(DataBufferUtils::release)
+                        .blockLast());
+    }
+}
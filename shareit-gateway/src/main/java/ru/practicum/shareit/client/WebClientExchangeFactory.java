@@ -0,0 +1,56 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Component
+@ConditionalOnProperty(name = "shareit-gateway.proxy.mode", havingValue = "reactive")
+public class WebClientExchangeFactory implements ServerExchangeFactory, DisposableBean {
+    private final WebClient.Builder builder;
+    private final ConnectionProvider connectionProvider;
+    private final ReactorClientHttpConnector connector;
+    private final boolean passThrough;
+
+    public WebClientExchangeFactory(WebClient.Builder builder,
+                                    @Value("${shareit-gateway.proxy.pass-through:false}") boolean passThrough,
+                                    @Value("${shareit-gateway.http.max-connections:500}") int maxConnections,
+                                    @Value("${shareit-gateway.http.connect-timeout:2s}") Duration connectTimeout,
+                                    @Value("${shareit-gateway.http.connection-request-timeout:2s}") Duration connectionRequestTimeout,
+                                    @Value("${shareit-gateway.http.socket-timeout:30s}") Duration socketTimeout,
+                                    @Value("${shareit-gateway.http.idle-timeout:60s}") Duration idleTimeout) {
+        this.builder = builder;
+        this.passThrough = passThrough;
+        this.connectionProvider = ConnectionProvider.builder("shareit-server")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(connectionRequestTimeout)
+                .maxIdleTime(idleTimeout)
+                .evictInBackground(idleTimeout)
+                .metrics(true)
+                .build();
+        this.connector = new ReactorClientHttpConnector(HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(socketTimeout));
+    }
+
+    @Override
+    public ServerExchange create(String baseUrl) {
+        return new WebClientExchange(builder.clone()
+                .baseUrl(baseUrl)
+                .clientConnector(connector)
+                .build(), passThrough);
+    }
+
+    @Override
+    public void destroy() {
+        connectionProvider.dispose();
+    }
+}
@@ -2,44 +2,58 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerExchangeFactory;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 
+import java.io.InputStream;
 import java.util.Map;
 
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
+    private static final String REQUESTS_PREFIX = "/requests/";
+
+    private final ResponseCache cache;
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, ServerExchangeFactory exchangeFactory,
+                      ResponseCache cache) {
+        super(exchangeFactory.create(serverUrl + API_PREFIX));
+        this.cache = cache;
+    }
+
+    public Mono<ResponseEntity<Object>> createItem(long userId, ItemCreateDto itemCreateDto) {
+        return post("", userId, itemCreateDto).doOnNext(response -> {
+            if (itemCreateDto.getRequestId() != null) {
+                cache.evict(REQUESTS_PREFIX + itemCreateDto.getRequestId());
+            }
+        });
     }
 
-    public ResponseEntity<Object> createItem(long userId, ItemCreateDto itemCreateDto) {
-        return post("", userId, itemCreateDto);
+    public Mono<ResponseEntity<Object>> importItems(long userId, MediaType contentType, InputStream content) {
+        return exchange.stream("/import", userId, contentType, content)
+                .doOnNext(response -> cache.evictAll(REQUESTS_PREFIX));
     }
 
-    public ResponseEntity<Object> updateItem(long userId, long itemId, ItemCreateDto itemCreateDto) {
-        return patch("/" + itemId, userId, itemCreateDto);
+    public Mono<ResponseEntity<Object>> updateItem(long userId, long itemId, ItemCreateDto itemCreateDto) {
+        return patch("/" + itemId, userId, itemCreateDto).doOnNext(response -> {
+            cache.evict(API_PREFIX + "/" + itemId);
+            cache.evictAll(REQUESTS_PREFIX);
+        });
     }
 
-    public ResponseEntity<Object> getItem(long userId, long itemId) {
-        return get("/" + itemId, userId);
+    public Mono<ResponseEntity<Object>> getItem(long userId, long itemId) {
+        return cache.get(API_PREFIX + "/" + itemId, userId, () -> get("/" + itemId, userId));
     }
 
-    public ResponseEntity<Object> getItemsOfOwner(long ownerId, int from, int size) {
+    public Mono<ResponseEntity<Object>> getItemsOfOwner(long ownerId, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -47,7 +61,7 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", ownerId, parameters);
     }
 
-    public ResponseEntity<Object> search(String text, int from, int size) {
+    public Mono<ResponseEntity<Object>> search(String text, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
@@ -56,7 +70,8 @@ public class ItemClient extends BaseClient {
         return get("/search?text={text}&from={from}&size={size}", null, parameters);
     }
 
-    public ResponseEntity<Object> createComment(long itemId, long userId, CommentDto commentDto) {
-        return post("/" + itemId + "/comment", userId, commentDto);
+    public Mono<ResponseEntity<Object>> createComment(long itemId, long userId, CommentDto commentDto) {
+        return post("/" + itemId + "/comment", userId, commentDto)
+                .doOnNext(response -> cache.evict(API_PREFIX + "/" + itemId));
     }
 }
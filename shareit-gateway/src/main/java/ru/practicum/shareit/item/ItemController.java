@@ -2,16 +2,21 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.io.IOException;
 
 @Controller
 @Validated
@@ -24,50 +29,58 @@ public class ItemController {
 
 
     @PostMapping
-    public ResponseEntity<Object> createItem(@RequestHeader(CUSTOM_USER_ID_HEADER) long userId,
+    public Mono<ResponseEntity<Object>> createItem(@RequestHeader(CUSTOM_USER_ID_HEADER) long userId,
                                              @Valid @RequestBody ItemCreateDto itemCreateDto) {
         log.info("Создаем вещь {}", itemCreateDto);
         return itemClient.createItem(userId, itemCreateDto);
     }
 
+    @PostMapping(path = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public Mono<ResponseEntity<Object>> importItems(@RequestHeader(CUSTOM_USER_ID_HEADER) long userId,
+                                              @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                              HttpServletRequest request) throws IOException {
+        log.info("Импортируем вещи пользователя {} в формате {}", userId, contentType);
+        return itemClient.importItems(userId, contentType, request.getInputStream());
+    }
+
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@RequestHeader(CUSTOM_USER_ID_HEADER) long userId,
+    public Mono<ResponseEntity<Object>> updateItem(@RequestHeader(CUSTOM_USER_ID_HEADER) long userId,
                                              @PathVariable long itemId,
                                              @RequestBody ItemCreateDto itemCreateDto) {
-        log.info(String.format("Обновляем вещь %s с идентификатором %s", itemCreateDto, itemId));
+        log.info("Обновляем вещь {} с идентификатором {}", itemCreateDto, itemId);
         itemCreateDto.setId(itemId);
         return itemClient.updateItem(userId, itemId, itemCreateDto);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItem(@PathVariable long itemId,
+    public Mono<ResponseEntity<Object>> getItem(@PathVariable long itemId,
                                           @RequestHeader(CUSTOM_USER_ID_HEADER) long userId) {
-        log.info(String.format("Получаем вещь с идентификатором %s", itemId));
+        log.info("Получаем вещь с идентификатором {}", itemId);
         return itemClient.getItem(userId, itemId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllItemsOfOwner(@RequestHeader(CUSTOM_USER_ID_HEADER) long ownerId,
+    public Mono<ResponseEntity<Object>> getAllItemsOfOwner(@RequestHeader(CUSTOM_USER_ID_HEADER) long ownerId,
                                                      @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") int from,
                                                      @Positive @RequestParam(name = "size", defaultValue = "10") int size) {
-        log.info(String.format("Получаем вещь владельца с идентификатором %s", ownerId));
+        log.info("Получаем вещь владельца с идентификатором {}", ownerId);
 
         return itemClient.getItemsOfOwner(ownerId, from, size);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@RequestParam String text,
+    public Mono<ResponseEntity<Object>> searchItems(@RequestParam String text,
                                               @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") int from,
                                               @Positive @RequestParam(name = "size", defaultValue = "10") int size) {
-        log.info(String.format("Ищем вещи по любому полю, которое содержит %s в себе", text));
+        log.info("Ищем вещи по любому полю, которое содержит {} в себе", text);
         return itemClient.search(text, from, size);
     }
 
     @PostMapping("{itemId}/comment")
-    public ResponseEntity<Object> createComment(@PathVariable long itemId,
+    public Mono<ResponseEntity<Object>> createComment(@PathVariable long itemId,
                                                 @Valid @RequestBody CommentDto commentDto,
                                                 @RequestHeader(CUSTOM_USER_ID_HEADER) long userId) {
-        log.info(String.format("Создаем комментарий к вещи с идентификатором %s", itemId));
+        log.info("Создаем комментарий к вещи с идентификатором {}", itemId);
         return itemClient.createComment(itemId, userId, commentDto);
     }
 }
\ No newline at end of file
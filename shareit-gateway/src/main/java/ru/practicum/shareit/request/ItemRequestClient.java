@@ -2,12 +2,12 @@ package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ServerExchangeFactory;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 
 import java.util.Map;
@@ -16,29 +16,28 @@ import java.util.Map;
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
+    private final ResponseCache cache;
+
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, ServerExchangeFactory exchangeFactory,
+                             ResponseCache cache) {
+        super(exchangeFactory.create(serverUrl + API_PREFIX));
+        this.cache = cache;
     }
 
-    public ResponseEntity<Object> createRequest(long requestorId, ItemRequestCreateDto itemRequestCreateDto) {
+    public Mono<ResponseEntity<Object>> createRequest(long requestorId, ItemRequestCreateDto itemRequestCreateDto) {
         return post("", requestorId, itemRequestCreateDto);
     }
 
-    public ResponseEntity<Object> getRequest(long requestorId, long requestId) {
-        return get("/" + requestId, requestorId);
+    public Mono<ResponseEntity<Object>> getRequest(long requestorId, long requestId) {
+        return cache.get(API_PREFIX + "/" + requestId, requestorId, () -> get("/" + requestId, requestorId));
     }
 
-    public ResponseEntity<Object> getRequests(long requestorId) {
+    public Mono<ResponseEntity<Object>> getRequests(long requestorId) {
         return get("", requestorId);
     }
 
-    public ResponseEntity<Object> getAllItemRequests(long requestorId, int from, int size) {
+    public Mono<ResponseEntity<Object>> getAllItemRequests(long requestorId, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
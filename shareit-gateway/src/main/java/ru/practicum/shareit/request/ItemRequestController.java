@@ -6,6 +6,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 
 import javax.validation.Valid;
@@ -22,24 +23,24 @@ public class ItemRequestController {
 
     @PostMapping
     @ResponseStatus(code = HttpStatus.CREATED)
-    public ResponseEntity<Object> createItemRequest(@RequestHeader(CUSTOM_USER_ID_HEADER) long requestorId,
+    public Mono<ResponseEntity<Object>> createItemRequest(@RequestHeader(CUSTOM_USER_ID_HEADER) long requestorId,
                                                     @Valid @RequestBody ItemRequestCreateDto itemRequestDto) {
         return itemRequestClient.createRequest(requestorId, itemRequestDto);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllItemRequests(@RequestHeader(CUSTOM_USER_ID_HEADER) long requestorId) {
+    public Mono<ResponseEntity<Object>> getAllItemRequests(@RequestHeader(CUSTOM_USER_ID_HEADER) long requestorId) {
         return itemRequestClient.getRequests(requestorId);
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getItemRequest(@RequestHeader(CUSTOM_USER_ID_HEADER) long requestorId,
+    public Mono<ResponseEntity<Object>> getItemRequest(@RequestHeader(CUSTOM_USER_ID_HEADER) long requestorId,
                                                  @PathVariable long requestId) {
         return itemRequestClient.getRequest(requestorId, requestId);
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllItemRequests(@RequestHeader(CUSTOM_USER_ID_HEADER) long requestorId,
+    public Mono<ResponseEntity<Object>> getAllItemRequests(@RequestHeader(CUSTOM_USER_ID_HEADER) long requestorId,
                                                      @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") int from,
                                                      @Positive @RequestParam(name = "size", defaultValue = "10") int size) {
         return itemRequestClient.getAllItemRequests(requestorId, from, size);
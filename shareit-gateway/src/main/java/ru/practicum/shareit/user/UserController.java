@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 
@@ -18,19 +19,19 @@ public class UserController {
     private final UserClient userClient;
 
     @GetMapping
-    public ResponseEntity<Object> findAllUsers() {
+    public Mono<ResponseEntity<Object>> findAllUsers() {
         log.info("Получаем всех пользователей");
         return userClient.getAllUsers();
     }
 
     @PostMapping
-    public ResponseEntity<Object> createUser(@Valid @RequestBody UserDto user) {
+    public Mono<ResponseEntity<Object>> createUser(@Valid @RequestBody UserDto user) {
         log.info("Создаем пользователя {}", user);
         return userClient.createUser(user);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> updateUser(@Valid @RequestBody UserUpdateDto user,
+    public Mono<ResponseEntity<Object>> updateUser(@Valid @RequestBody UserUpdateDto user,
                                              @PathVariable long userId) {
         log.info("Обновляем пользователя {} с идентификатором {}", user, userId);
         user.setId(userId);
@@ -38,13 +39,13 @@ public class UserController {
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUser(@PathVariable long userId) {
+    public Mono<ResponseEntity<Object>> getUser(@PathVariable long userId) {
         log.info("Получаем пользователя с идентификатором {}", userId);
         return userClient.getUser(userId);
     }
 
     @DeleteMapping("/{userId}")
-    public ResponseEntity<Object> removeUser(@PathVariable long userId) {
+    public Mono<ResponseEntity<Object>> removeUser(@PathVariable long userId) {
         log.info("Удаляем пользователя с идентификатором {}", userId);
         return userClient.removeUser(userId);
     }
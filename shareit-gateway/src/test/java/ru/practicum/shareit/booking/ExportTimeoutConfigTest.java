@@ -0,0 +1,63 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(BookingController.class)
+class ExportTimeoutConfigTest {
+    private static final long EXPORT_TIMEOUT = Duration.ofMinutes(10).toMillis();
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private BookingClient bookingClient;
+
+    @Test
+    void shouldApplyExportTimeoutToExport() throws Exception {
+        StreamingResponseBody body = outputStream -> outputStream.write('\n');
+        Mockito
+                .when(bookingClient.exportBookingsOfOwner(anyLong()))
+                .thenReturn(ResponseEntity.ok(body));
+
+        MvcResult result = mvc.perform(get("/bookings/owner/export")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertEquals(EXPORT_TIMEOUT, result.getRequest().getAsyncContext().getTimeout());
+    }
+
+    @Test
+    void shouldNotStartAsyncForOtherRequests() throws Exception {
+        Mockito
+                .when(bookingClient.getBookings(anyLong(), any(), anyInt(), anyInt()))
+                .thenReturn(Mono.just(ResponseEntity.ok(List.of())));
+
+        mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.ItemController;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ItemController.class)
+class BlockingProxyConfigTest {
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private ItemClient itemClient;
+
+    @Test
+    void shouldWriteResolvedResponseOnRequestThread() throws Exception {
+        Mockito
+                .when(itemClient.getItem(1L, 1L))
+                .thenReturn(Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                                .<Object>body(Map.of("error", "not found")))
+                        .doOnNext(response -> { }));
+
+        mvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isNotFound())
+                .andExpect(content().json("{\"error\": \"not found\"}"));
+    }
+
+    @Test
+    void shouldHandleErrorOfResolvedResponse() throws Exception {
+        Mockito
+                .when(itemClient.getItem(1L, 1L))
+                .thenReturn(Mono.error(new IOException("upstream closed")));
+
+        mvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", 1))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isInternalServerError())
+                .andExpect(jsonPath("$.description").value("upstream closed"));
+    }
+}
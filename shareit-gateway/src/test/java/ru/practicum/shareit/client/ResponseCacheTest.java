@@ -0,0 +1,114 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ResponseCacheTest {
+    private static final String PATH = "/items/1";
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void shouldReturnCachedResponseWithinTtl() {
+        ResponseCache cache = new ResponseCache(true, Duration.ofMinutes(1), 10);
+
+        assertEquals(1, get(cache, PATH, 1L));
+        assertEquals(1, get(cache, PATH, 1L));
+        assertEquals(2, get(cache, PATH, 2L));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void shouldReloadAfterTtlExpired() throws InterruptedException {
+        ResponseCache cache = new ResponseCache(true, Duration.ofMillis(1), 10);
+
+        assertEquals(1, get(cache, PATH, 1L));
+        Thread.sleep(20);
+
+        assertEquals(2, get(cache, PATH, 1L));
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedWhenFull() {
+        ResponseCache cache = new ResponseCache(true, Duration.ofMinutes(1), 2);
+
+        assertEquals(1, get(cache, "/items/1", 1L));
+        assertEquals(2, get(cache, "/items/2", 1L));
+        assertEquals(1, get(cache, "/items/1", 1L));
+        assertEquals(3, get(cache, "/items/3", 1L));
+
+        assertEquals(1, get(cache, "/items/1", 1L));
+        assertEquals(4, get(cache, "/items/2", 1L));
+    }
+
+    @Test
+    void shouldReloadAfterEvict() {
+        ResponseCache cache = new ResponseCache(true, Duration.ofMinutes(1), 10);
+        assertEquals(1, get(cache, PATH, 1L));
+        assertEquals(2, get(cache, "/items/2", 1L));
+
+        cache.evict(PATH);
+
+        assertEquals(3, get(cache, PATH, 1L));
+        assertEquals(2, get(cache, "/items/2", 1L));
+    }
+
+    @Test
+    void shouldReloadAfterEvictAllByPrefix() {
+        ResponseCache cache = new ResponseCache(true, Duration.ofMinutes(1), 10);
+        assertEquals(1, get(cache, "/items/1", 1L));
+        assertEquals(2, get(cache, "/requests/1", 1L));
+
+        cache.evictAll("/items/");
+
+        assertEquals(3, get(cache, "/items/1", 1L));
+        assertEquals(2, get(cache, "/requests/1", 1L));
+    }
+
+    @Test
+    void shouldNotCacheResponseLoadedBeforeEvict() {
+        ResponseCache cache = new ResponseCache(true, Duration.ofMinutes(1), 10);
+        Sinks.One<ResponseEntity<Object>> stale = Sinks.one();
+        cache.get(PATH, 1L, stale::asMono).subscribe();
+
+        cache.evict(PATH);
+        stale.tryEmitValue(ResponseEntity.ok(0));
+
+        assertEquals(1, get(cache, PATH, 1L));
+    }
+
+    @Test
+    void shouldNotCacheResponseLoadedBeforeEvictAll() {
+        ResponseCache cache = new ResponseCache(true, Duration.ofMinutes(1), 10);
+        Sinks.One<ResponseEntity<Object>> stale = Sinks.one();
+        cache.get(PATH, 1L, stale::asMono).subscribe();
+
+        cache.evictAll("/items/");
+        stale.tryEmitValue(ResponseEntity.ok(0));
+
+        assertEquals(1, get(cache, PATH, 1L));
+    }
+
+    @Test
+    void shouldNotCacheErrorResponse() {
+        ResponseCache cache = new ResponseCache(true, Duration.ofMinutes(1), 10);
+        cache.get(PATH, 1L, () -> Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).build())).block();
+
+        assertEquals(1, get(cache, PATH, 1L));
+        assertEquals(1, get(cache, PATH, 1L));
+    }
+
+    private Object get(ResponseCache cache, String path, long userId) {
+        return cache.get(path, userId, () -> Mono.fromSupplier(() -> ResponseEntity.ok(loads.incrementAndGet())))
+                .map(ResponseEntity::getBody)
+                .block();
+    }
+}
@@ -0,0 +1,142 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class WebClientExchangeTest {
+    private final Map<String, String> received = new ConcurrentHashMap<>();
+    private HttpServer server;
+    private WebClient webClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/items/1", exchange -> {
+            received.put("userId", String.valueOf(exchange.getRequestHeaders().getFirst("X-Sharer-User-Id")));
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("X-Total-Count", "1");
+            exchange.getResponseHeaders().add("Set-Cookie", "session=1");
+            respond(exchange, 200, "{\"id\":1}");
+        });
+        server.createContext("/items/2", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            respond(exchange, 404, "{\"error\":\"not found\"}");
+        });
+        server.createContext("/items/import", exchange -> {
+            received.put("contentType", exchange.getRequestHeaders().getFirst("Content-Type"));
+            received.put("body", new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            respond(exchange, 200, "{\"imported\":2}");
+        });
+        server.createContext("/bookings/owner/export", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/x-ndjson");
+            respond(exchange, 200, "{\"id\":1}\n{\"id\":2}\n");
+        });
+        server.start();
+        webClient = WebClient.builder()
+                .baseUrl("http://localhost:" + server.getAddress().getPort())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void shouldExchangeWithUpstream() {
+        WebClientExchange exchange = new WebClientExchange(webClient, false);
+
+        ResponseEntity<Object> response = exchange.exchange(HttpMethod.GET, "/items/1", 5L, null, null).block();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(Map.of("id", 1), response.getBody());
+        assertEquals("5", received.get("userId"));
+    }
+
+    @Test
+    void shouldReturnUpstreamErrorBody() {
+        WebClientExchange exchange = new WebClientExchange(webClient, false);
+
+        ResponseEntity<Object> response = exchange.exchange(HttpMethod.GET, "/items/2", 5L, null, null).block();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertArrayEquals("{\"error\":\"not found\"}".getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+    }
+
+    @Test
+    void shouldPassThroughBodyAndHeaders() {
+        WebClientExchange exchange = new WebClientExchange(webClient, true);
+
+        ResponseEntity<Object> response = exchange.exchange(HttpMethod.GET, "/items/1", 5L, null, null).block();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals("{\"id\":1}".getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("1", response.getHeaders().getFirst("X-Total-Count"));
+        assertFalse(response.getHeaders().containsKey("Set-Cookie"));
+    }
+
+    @Test
+    void shouldStreamRequestBody() {
+        WebClientExchange exchange = new WebClientExchange(webClient, false);
+        String content = "{\"name\":\"Дрель\"}\n{\"name\":\"Пила\"}\n";
+
+        ResponseEntity<Object> response = exchange.stream("/items/import", 5L, MediaType.parseMediaType("application/x-ndjson"),
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))).block();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals("{\"imported\":2}".getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+        assertEquals("application/x-ndjson", received.get("contentType"));
+        assertEquals(content, received.get("body"));
+    }
+
+    @Test
+    void shouldDownloadResponseBody() throws IOException {
+        WebClientExchange exchange = new WebClientExchange(webClient, false);
+
+        ResponseEntity<StreamingResponseBody> response = exchange.download("/bookings/owner/export", 5L);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("application/x-ndjson", response.getHeaders().getFirst("Content-Type"));
+        assertEquals("{\"id\":1}\n{\"id\":2}\n", out.toString(StandardCharsets.UTF_8));
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body)
+            throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
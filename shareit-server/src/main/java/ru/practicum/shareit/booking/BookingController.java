@@ -1,15 +1,24 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 
@@ -19,8 +28,11 @@ import java.util.List;
 @Slf4j
 public class BookingController {
     private static final String CUSTOM_USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
 
     private final BookingService service;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @ResponseStatus(code = HttpStatus.CREATED)
@@ -30,6 +42,13 @@ public class BookingController {
         return service.create(bookingCreateDto, userId);
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResultDto> createBookings(@RequestHeader(CUSTOM_USER_ID_HEADER) long userId,
+                                                      @RequestBody List<BookingCreateDto> bookingCreateDtos) {
+        log.info("Создается пакет из {} броней пользователя {}", bookingCreateDtos.size(), userId);
+        return service.createAll(bookingCreateDtos, userId);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto updateStatusOfBooking(@PathVariable long bookingId,
                                             @RequestHeader(CUSTOM_USER_ID_HEADER) long userId,
@@ -64,4 +83,60 @@ public class BookingController {
         Pageable pageable = PageRequest.of(from / size, size, Sort.by("startDate").descending());
         return service.getAllByOwnerItems(userId, state, pageable);
     }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<List<BookingDto>> getBookingsOfUserAfterCursor(@RequestHeader(CUSTOM_USER_ID_HEADER) long userId,
+                                                                         @RequestParam BookingState state,
+                                                                         @RequestParam String cursor,
+                                                                         @RequestParam int size) {
+        log.info("Получаем брони пользователя с state {}, userId={}, cursor={}, size={}", state, userId, cursor, size);
+        List<BookingDto> bookings = service.getAllByUser(userId, state, BookingCursor.decode(cursor), size);
+        return withNextCursor(bookings, size);
+    }
+
+    @GetMapping(path = "/owner", params = "cursor")
+    public ResponseEntity<List<BookingDto>> getBookingsOfOwnerItemsAfterCursor(@RequestHeader(CUSTOM_USER_ID_HEADER) long userId,
+                                                                               @RequestParam BookingState state,
+                                                                               @RequestParam String cursor,
+                                                                               @RequestParam int size) {
+        log.info("Получаем брони владельца вещей с state {}, userId={}, cursor={}, size={}", state, userId, cursor, size);
+        List<BookingDto> bookings = service.getAllByOwnerItems(userId, state, BookingCursor.decode(cursor), size);
+        return withNextCursor(bookings, size);
+    }
+
+    @GetMapping("/owner/export")
+    public ResponseEntity<StreamingResponseBody> exportBookingsOfOwnerItems(@RequestHeader(CUSTOM_USER_ID_HEADER) long userId) {
+        log.info("Выгружаем все брони владельца вещей {}", userId);
+        service.checkIfUserExists(userId);
+        StreamingResponseBody body = outputStream -> {
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+            generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+            long exported = service.exportAllByOwnerItems(userId, booking -> {
+                try {
+                    generator.writeObject(booking);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (exported > 0) {
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+            log.info("Выгружено {} броней владельца вещей {}", exported, userId);
+        };
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .body(body);
+    }
+
+    private ResponseEntity<List<BookingDto>> withNextCursor(List<BookingDto> bookings, int size) {
+        if (bookings.size() < size) {
+            return ResponseEntity.ok(bookings);
+        }
+        BookingDto last = bookings.get(bookings.size() - 1);
+        String nextCursor = new BookingCursor(last.getStart(), last.getId()).encode();
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, nextCursor)
+                .body(bookings);
+    }
 }
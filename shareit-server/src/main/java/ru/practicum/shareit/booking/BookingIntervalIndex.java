@@ -0,0 +1,232 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingIntervalIndex implements SmartLifecycle {
+    private static final int PHASE = 0;
+
+    private final BookingRepository repository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<Long, NavigableMap<LocalDateTime, Interval>> intervals = new ConcurrentHashMap<>();
+    private Queue<Consumer<Map<Long, NavigableMap<LocalDateTime, Interval>>>> changedDuringRebuild;
+    private volatile boolean running;
+
+    @Override
+    public void start() {
+        rebuild();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    public synchronized void rebuild() {
+        setChangedDuringRebuild(new ConcurrentLinkedQueue<>());
+
+        Map<Long, NavigableMap<LocalDateTime, Interval>> newIntervals = new ConcurrentHashMap<>();
+        List<Booking> bookings;
+        try {
+            bookings = repository.findAllByStatusEqualsAndEndDateIsAfter(BookingStatus.APPROVED,
+                    LocalDateTime.now());
+        } catch (RuntimeException e) {
+            setChangedDuringRebuild(null);
+            throw e;
+        }
+        bookings.forEach(booking -> add(newIntervals, booking.getItem().getId(), booking.getId(),
+                booking.getStartDate(), booking.getEndDate()));
+
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild.forEach(change -> change.accept(newIntervals));
+            changedDuringRebuild = null;
+            intervals = newIntervals;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Индекс бронирований построен, загружено {} интервалов", bookings.size());
+    }
+
+    public boolean overlaps(long itemId, LocalDateTime start, LocalDateTime end) {
+        lock.readLock().lock();
+        try {
+            NavigableMap<LocalDateTime, Interval> itemIntervals = intervals.get(itemId);
+            if (itemIntervals == null) {
+                return false;
+            }
+            synchronized (itemIntervals) {
+                return findOverlap(itemIntervals, start, end) != null;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean tryAdd(long itemId, long bookingId, LocalDateTime start, LocalDateTime end) {
+        lock.readLock().lock();
+        try {
+            NavigableMap<LocalDateTime, Interval> itemIntervals = intervals.computeIfAbsent(itemId,
+                    id -> new TreeMap<>());
+            synchronized (itemIntervals) {
+                if (!tryAdd(itemIntervals, bookingId, start, end)) {
+                    return false;
+                }
+                recordChange(newIntervals -> replayAdd(newIntervals, itemId, bookingId, start, end));
+                return true;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void remove(long itemId, long bookingId) {
+        lock.readLock().lock();
+        try {
+            NavigableMap<LocalDateTime, Interval> itemIntervals = intervals.get(itemId);
+            if (itemIntervals != null) {
+                synchronized (itemIntervals) {
+                    remove(itemIntervals, bookingId);
+                }
+            }
+            recordChange(newIntervals -> {
+                NavigableMap<LocalDateTime, Interval> newItemIntervals = newIntervals.get(itemId);
+                if (newItemIntervals != null) {
+                    remove(newItemIntervals, bookingId);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void setChangedDuringRebuild(Queue<Consumer<Map<Long, NavigableMap<LocalDateTime, Interval>>>> pending) {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = pending;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void recordChange(Consumer<Map<Long, NavigableMap<LocalDateTime, Interval>>> change) {
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(change);
+        }
+    }
+
+    private boolean tryAdd(NavigableMap<LocalDateTime, Interval> itemIntervals,
+                           long bookingId, LocalDateTime start, LocalDateTime end) {
+        evictEnded(itemIntervals);
+        Interval overlap = findOverlap(itemIntervals, start, end);
+        if (overlap != null && overlap.bookingId != bookingId) {
+            return false;
+        }
+        itemIntervals.put(start, new Interval(bookingId, end));
+        return true;
+    }
+
+    private void replayAdd(Map<Long, NavigableMap<LocalDateTime, Interval>> newIntervals,
+                           long itemId, long bookingId, LocalDateTime start, LocalDateTime end) {
+        NavigableMap<LocalDateTime, Interval> itemIntervals = newIntervals.computeIfAbsent(itemId,
+                id -> new TreeMap<>());
+        if (!tryAdd(itemIntervals, bookingId, start, end)) {
+            add(newIntervals, itemId, bookingId, start, end);
+        }
+    }
+
+    private void remove(NavigableMap<LocalDateTime, Interval> itemIntervals, long bookingId) {
+        itemIntervals.values().removeIf(interval -> interval.bookingId == bookingId);
+    }
+
+    private void add(Map<Long, NavigableMap<LocalDateTime, Interval>> newIntervals,
+                     long itemId, long bookingId, LocalDateTime start, LocalDateTime end) {
+        NavigableMap<LocalDateTime, Interval> itemIntervals = newIntervals.computeIfAbsent(itemId,
+                id -> new TreeMap<>());
+        LocalDateTime mergedStart = start;
+        LocalDateTime mergedEnd = end;
+        Map.Entry<LocalDateTime, Interval> overlap = findOverlapEntry(itemIntervals, mergedStart, mergedEnd);
+        while (overlap != null) {
+            log.warn("Подтверждённые брони {} и {} вещи {} пересекаются, интервалы объединены",
+                    overlap.getValue().bookingId, bookingId, itemId);
+            itemIntervals.remove(overlap.getKey());
+            if (overlap.getKey().isBefore(mergedStart)) {
+                mergedStart = overlap.getKey();
+            }
+            if (overlap.getValue().end.isAfter(mergedEnd)) {
+                mergedEnd = overlap.getValue().end;
+            }
+            overlap = findOverlapEntry(itemIntervals, mergedStart, mergedEnd);
+        }
+        itemIntervals.put(mergedStart, new Interval(bookingId, mergedEnd));
+    }
+
+    private Interval findOverlap(NavigableMap<LocalDateTime, Interval> itemIntervals,
+                                 LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, Interval> overlap = findOverlapEntry(itemIntervals, start, end);
+        return overlap == null ? null : overlap.getValue();
+    }
+
+    private Map.Entry<LocalDateTime, Interval> findOverlapEntry(NavigableMap<LocalDateTime, Interval> itemIntervals,
+                                                               LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, Interval> candidate = itemIntervals.lowerEntry(end);
+        assert candidate == null || isDisjointFromPrevious(itemIntervals, candidate);
+        if (candidate != null && candidate.getValue().end.isAfter(start)) {
+            return candidate;
+        }
+        return null;
+    }
+
+    private static boolean isDisjointFromPrevious(NavigableMap<LocalDateTime, Interval> itemIntervals,
+                                                  Map.Entry<LocalDateTime, Interval> entry) {
+        Map.Entry<LocalDateTime, Interval> previous = itemIntervals.lowerEntry(entry.getKey());
+        return previous == null || !previous.getValue().end.isAfter(entry.getKey());
+    }
+
+    private void evictEnded(NavigableMap<LocalDateTime, Interval> itemIntervals) {
+        LocalDateTime now = LocalDateTime.now();
+        while (!itemIntervals.isEmpty() && itemIntervals.firstEntry().getValue().end.isBefore(now)) {
+            itemIntervals.pollFirstEntry();
+        }
+    }
+
+    private static class Interval {
+        private final long bookingId;
+        private final LocalDateTime end;
+
+        private Interval(long bookingId, LocalDateTime end) {
+            this.bookingId = bookingId;
+            this.end = end;
+        }
+    }
+}
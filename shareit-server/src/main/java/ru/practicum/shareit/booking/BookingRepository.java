@@ -2,52 +2,115 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findAllByBookerId(long bookerId, Pageable pageable);
+    int EXPORT_FETCH_SIZE = 500;
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.booker.id = :bookerId")
+    List<Booking> findAllByBookerId(@Param("bookerId") long bookerId, Pageable pageable);
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     @Query("SELECT b FROM Booking b " +
             "WHERE b.booker.id = :bookerId " +
             "and b.endDate < :time ")
     List<Booking> findAllByBookerIdWithPastState(@Param("bookerId") long bookerId, @Param("time") LocalDateTime time, Pageable pageable);
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     @Query("SELECT b FROM Booking b " +
             "WHERE b.booker.id = :bookerId " +
             "and b.startDate > :time and b.endDate > :time")
     List<Booking> findAllByBookerIdWithFutureState(@Param("bookerId") long bookerId, @Param("time") LocalDateTime time, Pageable pageable);
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     @Query("SELECT b FROM Booking b " +
             "WHERE b.booker.id = :bookerId " +
             "and b.startDate < :time and b.endDate > :time")
     List<Booking> findAllByBookerIdWithCurrentState(@Param("bookerId") long bookerId, @Param("time") LocalDateTime time, Pageable pageable);
 
-    List<Booking> findAllByBookerIdAndStatusEquals(long bookerId, BookingStatus status, Pageable pageable);
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.booker.id = :bookerId " +
+            "and b.status = :status")
+    List<Booking> findAllByBookerIdAndStatusEquals(@Param("bookerId") long bookerId, @Param("status") BookingStatus status, Pageable pageable);
 
-    List<Booking> findAllByItemOwnerId(long ownerId, Pageable pageable);
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = :ownerId)")
+    List<Booking> findAllByItemOwnerId(@Param("ownerId") long ownerId, Pageable pageable);
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     @Query("SELECT b FROM Booking b " +
             "WHERE b.item.owner.id = :ownerId " +
             "and b.endDate < :time ")
     List<Booking> findAllByItemOwnerIdWithPastState(@Param("ownerId") long ownerId, @Param("time") LocalDateTime time, Pageable pageable);
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     @Query("SELECT b FROM Booking b " +
             "WHERE b.item.owner.id = :ownerId " +
             "and b.startDate > :time and b.endDate > :time")
     List<Booking> findAllByItemOwnerIdWithFutureState(@Param("ownerId") long ownerId, @Param("time") LocalDateTime time, Pageable pageable);
 
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
     @Query("SELECT b FROM Booking b " +
             "WHERE b.item.owner.id = :ownerId " +
             "and b.startDate < :time and b.endDate > :time")
     List<Booking> findAllByItemOwnerIdWithCurrentState(@Param("ownerId") long ownerId, @Param("time") LocalDateTime time, Pageable pageable);
 
-    List<Booking> findAllByItemOwnerIdAndStatusEquals(long ownerId, BookingStatus status, Pageable pageable);
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.id IN (SELECT i.id FROM Item i WHERE i.owner.id = :ownerId) " +
+            "and b.status = :status")
+    List<Booking> findAllByItemOwnerIdAndStatusEquals(@Param("ownerId") long ownerId, @Param("status") BookingStatus status, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.booker.id = :bookerId " +
+            "and b.status IN :#{#filter.statuses} " +
+            "and b.startDate > :#{#filter.startFrom} and b.startDate < :#{#filter.startTo} " +
+            "and b.endDate > :#{#filter.endFrom} and b.endDate < :#{#filter.endTo} " +
+            "and (b.startDate < :#{#filter.cursorStart} " +
+            "or (b.startDate = :#{#filter.cursorStart} and b.id < :#{#filter.cursorId})) " +
+            "ORDER BY b.startDate DESC, b.id DESC")
+    List<Booking> findAllByBookerIdAfterCursor(@Param("bookerId") long bookerId,
+                                               @Param("filter") BookingSeekFilter filter, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.owner.id = :ownerId " +
+            "and b.status IN :#{#filter.statuses} " +
+            "and b.startDate > :#{#filter.startFrom} and b.startDate < :#{#filter.startTo} " +
+            "and b.endDate > :#{#filter.endFrom} and b.endDate < :#{#filter.endTo} " +
+            "and (b.startDate < :#{#filter.cursorStart} " +
+            "or (b.startDate = :#{#filter.cursorStart} and b.id < :#{#filter.cursorId})) " +
+            "ORDER BY b.startDate DESC, b.id DESC")
+    List<Booking> findAllByItemOwnerIdAfterCursor(@Param("ownerId") long ownerId,
+                                                  @Param("filter") BookingSeekFilter filter, Pageable pageable);
+
+    @EntityGraph(Booking.WITH_ITEM_AND_BOOKER)
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+            @QueryHint(name = HINT_READONLY, value = "true")
+    })
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.owner.id = :ownerId " +
+            "ORDER BY b.startDate DESC, b.id DESC")
+    Stream<Booking> streamAllByItemOwnerId(@Param("ownerId") long ownerId);
 
     Optional<Booking> findFirstByItemIdAndStatusEqualsAndStartDateIsBefore(long itemId, BookingStatus status,
                                                                            LocalDateTime time, Sort sort);
@@ -59,5 +122,17 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
                                                                                     BookingStatus status, LocalDateTime time,
                                                                                     Sort sort);
 
-    List<Booking> findAllByItemIdIn(List<Long> itemIds);
+    @Query(value = "SELECT b.item_id AS itemId, b.id AS id, b.booker_id AS bookerId, b.past AS past " +
+            "FROM (SELECT bk.item_id, bk.id, bk.booker_id, " +
+            "CASE WHEN bk.start_date < :time THEN TRUE ELSE FALSE END AS past, " +
+            "ROW_NUMBER() OVER (PARTITION BY bk.item_id, CASE WHEN bk.start_date < :time THEN 0 ELSE 1 END " +
+            "ORDER BY CASE WHEN bk.start_date < :time THEN bk.end_date END DESC, bk.start_date) AS rn " +
+            "FROM bookings bk " +
+            "WHERE bk.item_id IN (:itemIds) and bk.status = 'APPROVED' and bk.start_date <> :time) b " +
+            "WHERE b.rn = 1",
+            nativeQuery = true)
+    List<ItemBookingView> findLastAndNextByItemIdIn(@Param("itemIds") List<Long> itemIds,
+                                                    @Param("time") LocalDateTime time);
+
+    List<Booking> findAllByStatusEqualsAndEndDateIsAfter(BookingStatus status, LocalDateTime time);
 }
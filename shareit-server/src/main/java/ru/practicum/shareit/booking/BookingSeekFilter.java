@@ -0,0 +1,51 @@
+package ru.practicum.shareit.booking;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+@Getter
+public class BookingSeekFilter {
+    private static final LocalDateTime MIN_DATE = LocalDateTime.of(1, 1, 1, 0, 0);
+    private static final LocalDateTime MAX_DATE = LocalDateTime.of(9999, 12, 31, 23, 59);
+
+    private Set<BookingStatus> statuses = EnumSet.allOf(BookingStatus.class);
+    private LocalDateTime startFrom = MIN_DATE;
+    private LocalDateTime startTo = MAX_DATE;
+    private LocalDateTime endFrom = MIN_DATE;
+    private LocalDateTime endTo = MAX_DATE;
+    private final LocalDateTime cursorStart;
+    private final long cursorId;
+
+    private BookingSeekFilter(BookingCursor cursor) {
+        this.cursorStart = cursor.getStartDate();
+        this.cursorId = cursor.getId();
+    }
+
+    public static BookingSeekFilter of(BookingState state, LocalDateTime now, BookingCursor cursor) {
+        BookingSeekFilter filter = new BookingSeekFilter(cursor);
+        switch (state) {
+            case PAST:
+                filter.endTo = now;
+                break;
+            case FUTURE:
+                filter.startFrom = now;
+                break;
+            case CURRENT:
+                filter.startTo = now;
+                filter.endFrom = now;
+                break;
+            case REJECTED:
+                filter.statuses = EnumSet.of(BookingStatus.REJECTED);
+                break;
+            case WAITING:
+                filter.statuses = EnumSet.of(BookingStatus.WAITING);
+                break;
+            default:
+                break;
+        }
+        return filter;
+    }
+}
@@ -1,14 +1,18 @@
 package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
     BookingDto create(BookingCreateDto bookingCreateDto, long userId);
 
+    List<BookingBatchResultDto> createAll(List<BookingCreateDto> bookingCreateDtos, long userId);
+
     BookingDto updateStatus(long bookingId, long userId, Boolean approved);
 
     BookingDto get(long bookingId, long userId);
@@ -17,4 +21,12 @@ public interface BookingService {
 
     List<BookingDto> getAllByOwnerItems(long userId, BookingState state, Pageable pageable);
 
+    List<BookingDto> getAllByUser(long userId, BookingState state, BookingCursor cursor, int size);
+
+    List<BookingDto> getAllByOwnerItems(long userId, BookingState state, BookingCursor cursor, int size);
+
+    long exportAllByOwnerItems(long userId, Consumer<BookingDto> consumer);
+
+    void checkIfUserExists(long userId);
+
 }
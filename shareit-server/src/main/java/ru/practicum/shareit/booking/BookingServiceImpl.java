@@ -1,31 +1,53 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.exception.AlreadyApprovedException;
+import ru.practicum.shareit.exception.BookingOverlapException;
+import ru.practicum.shareit.exception.InvalidBatchException;
 import ru.practicum.shareit.exception.NotAvailableItemException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserIdIndex;
 import ru.practicum.shareit.user.UserRepository;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    private static final int MAX_BATCH_SIZE = 100;
+
     private final BookingRepository repository;
     private final UserRepository userRepository;
+    private final UserIdIndex userIdIndex;
     private final ItemRepository itemRepository;
+    private final BookingIntervalIndex intervalIndex;
+    private final EntityManager entityManager;
 
     @Override
+    @Transactional
     public BookingDto create(BookingCreateDto bookingCreateDto, long userId) {
         User booker = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalStateException(
@@ -45,10 +67,57 @@ public class BookingServiceImpl implements BookingService {
             throw new NotFoundException("Владелец не может забронировать собственную вещь");
         }
 
+        if (intervalIndex.overlaps(item.getId(), booking.getStartDate(), booking.getEndDate())) {
+            throw new BookingOverlapException("Вещь уже забронирована на выбранный период");
+        }
+
         return BookingMapper.mapToBookingDto(repository.save(booking));
     }
 
     @Override
+    @Transactional
+    public List<BookingBatchResultDto> createAll(List<BookingCreateDto> bookingCreateDtos, long userId) {
+        if (bookingCreateDtos == null || bookingCreateDtos.isEmpty() || bookingCreateDtos.size() > MAX_BATCH_SIZE) {
+            throw new InvalidBatchException(
+                    String.format("Пакет должен содержать от 1 до %s броней", MAX_BATCH_SIZE));
+        }
+        User booker = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalStateException(
+                        String.format("Пользователь с идентификатором %s не найден", userId)));
+
+        Set<Long> itemIds = bookingCreateDtos.stream()
+                .filter(Objects::nonNull)
+                .map(BookingCreateDto::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        List<BookingBatchResultDto> results = new ArrayList<>();
+        List<Booking> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i = 0; i < bookingCreateDtos.size(); i++) {
+            BookingCreateDto bookingCreateDto = bookingCreateDtos.get(i);
+            String error = checkBatchEntry(bookingCreateDto, items, userId, accepted);
+            if (error != null) {
+                results.add(new BookingBatchResultDto(i, null, error));
+                continue;
+            }
+            accepted.add(BookingMapper.mapToBooking(bookingCreateDto, booker,
+                    items.get(bookingCreateDto.getItemId())));
+            acceptedIndexes.add(i);
+            results.add(new BookingBatchResultDto(i, null, null));
+        }
+
+        List<Booking> saved = repository.saveAll(accepted);
+        for (int i = 0; i < saved.size(); i++) {
+            results.get(acceptedIndexes.get(i)).setBooking(BookingMapper.mapToBookingDto(saved.get(i)));
+        }
+        return results;
+    }
+
+    @Override
+    @Transactional
     public BookingDto updateStatus(long bookingId, long userId, Boolean approved) {
         Booking booking = repository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException(
@@ -62,12 +131,24 @@ public class BookingServiceImpl implements BookingService {
             throw new NotFoundException("Подтвердить запрос на бронирование может только владелец вещи");
         }
 
-        booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
+        if (!approved) {
+            booking.setStatus(BookingStatus.REJECTED);
+            return BookingMapper.mapToBookingDto(repository.save(booking));
+        }
+
+        long itemId = booking.getItem().getId();
+        if (!intervalIndex.tryAdd(itemId, bookingId, booking.getStartDate(), booking.getEndDate())) {
+            throw new BookingOverlapException("Вещь уже забронирована на выбранный период");
+        }
 
+        removeFromIndexOnRollback(itemId, bookingId);
+
+        booking.setStatus(BookingStatus.APPROVED);
         return BookingMapper.mapToBookingDto(repository.save(booking));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public BookingDto get(long bookingId, long userId) {
         Booking booking = repository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException(
@@ -84,6 +165,7 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<BookingDto> getAllByUser(long userId, BookingState state, Pageable pageable) {
         checkIfUserExists(userId);
         List<Booking> bookers;
@@ -114,6 +196,7 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<BookingDto> getAllByOwnerItems(long userId, BookingState state, Pageable pageable) {
         checkIfUserExists(userId);
         List<Booking> bookers;
@@ -143,9 +226,97 @@ public class BookingServiceImpl implements BookingService {
                 .collect(Collectors.toList());
     }
 
-    private void checkIfUserExists(long userId) {
-        userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalStateException(
-                        String.format("Пользователь с идентификатором %s не найден", userId)));
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDto> getAllByUser(long userId, BookingState state, BookingCursor cursor, int size) {
+        checkIfUserExists(userId);
+        BookingSeekFilter filter = BookingSeekFilter.of(state, LocalDateTime.now(), cursor);
+
+        return repository.findAllByBookerIdAfterCursor(userId, filter, PageRequest.ofSize(size))
+                .stream()
+                .map(BookingMapper::mapToBookingDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingDto> getAllByOwnerItems(long userId, BookingState state, BookingCursor cursor, int size) {
+        checkIfUserExists(userId);
+        BookingSeekFilter filter = BookingSeekFilter.of(state, LocalDateTime.now(), cursor);
+
+        return repository.findAllByItemOwnerIdAfterCursor(userId, filter, PageRequest.ofSize(size))
+                .stream()
+                .map(BookingMapper::mapToBookingDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportAllByOwnerItems(long userId, Consumer<BookingDto> consumer) {
+        checkIfUserExists(userId);
+        long exported = 0;
+        try (Stream<Booking> bookings = repository.streamAllByItemOwnerId(userId)) {
+            for (Booking booking : (Iterable<Booking>) bookings::iterator) {
+                consumer.accept(BookingMapper.mapToBookingDto(booking));
+                if (++exported % BookingRepository.EXPORT_FETCH_SIZE == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return exported;
+    }
+
+    private String checkBatchEntry(BookingCreateDto bookingCreateDto, Map<Long, Item> items, long userId,
+                                   List<Booking> accepted) {
+        if (bookingCreateDto == null || bookingCreateDto.getItemId() == null) {
+            return "Не указана вещь для бронирования";
+        }
+        LocalDateTime start = bookingCreateDto.getStart();
+        LocalDateTime end = bookingCreateDto.getEnd();
+        if (start == null || end == null || !start.isBefore(end) || start.isBefore(LocalDateTime.now())) {
+            return "Не корректные данные начала или конца бронирования";
+        }
+        Item item = items.get(bookingCreateDto.getItemId());
+        if (item == null) {
+            return String.format("Вещь с идентификатором %s не найдена", bookingCreateDto.getItemId());
+        }
+        if (!item.getAvailable()) {
+            return "Запрещено бронировать недоступную вещь";
+        }
+        if (item.getOwner().getId() == userId) {
+            return "Владелец не может забронировать собственную вещь";
+        }
+        if (intervalIndex.overlaps(item.getId(), bookingCreateDto.getStart(), bookingCreateDto.getEnd())) {
+            return "Вещь уже забронирована на выбранный период";
+        }
+        for (Booking booking : accepted) {
+            if (booking.getItem().getId().equals(item.getId())
+                    && booking.getStartDate().isBefore(bookingCreateDto.getEnd())
+                    && bookingCreateDto.getStart().isBefore(booking.getEndDate())) {
+                return "Период пересекается с другой бронью этого пакета";
+            }
+        }
+        return null;
+    }
+
+    private void removeFromIndexOnRollback(long itemId, long bookingId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    intervalIndex.remove(itemId, bookingId);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void checkIfUserExists(long userId) {
+        if (!userIdIndex.exists(userId)) {
+            throw new IllegalStateException(String.format("Пользователь с идентификатором %s не найден", userId));
+        }
     }
 }
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking;
+
+public interface ItemBookingView {
+    Long getItemId();
+
+    Long getId();
+
+    Long getBookerId();
+
+    Boolean getPast();
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.booking.mapper;
 
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.ItemBookingView;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingItemDto;
@@ -38,4 +39,8 @@ public class BookingMapper {
         return new BookingItemDto(booking.getId(), booking.getBooker().getId());
     }
 
+    public static BookingItemDto mapToBookingItemDto(ItemBookingView booking) {
+        return new BookingItemDto(booking.getId(), booking.getBookerId());
+    }
+
 }
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+
+import javax.cache.Cache;
+import java.net.URI;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+public class EntityCacheRegionFactory extends JCacheRegionFactory {
+    public static final String USERS = "users";
+    public static final String ITEMS = "items";
+    private static final String MAXIMUM_SIZE = "shareit.cache.%s.maximum-size";
+    private static final long DEFAULT_MAXIMUM_SIZE = 10_000;
+
+    private final URI uri = URI.create("shareit-entities-" + UUID.randomUUID());
+    private Map<?, ?> properties = Map.of();
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map configValues) {
+        properties = configValues;
+        super.prepareForUse(settings, configValues);
+    }
+
+    @Override
+    protected URI getUri(SessionFactoryOptions settings, Map properties) {
+        return uri;
+    }
+
+    @Override
+    protected Cache<Object, Object> createCache(String regionName) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize(regionName)));
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        return getCacheManager().createCache(regionName, configuration);
+    }
+
+    private long maximumSize(String regionName) {
+        Object value = properties.get(String.format(MAXIMUM_SIZE, regionName));
+        return value == null ? DEFAULT_MAXIMUM_SIZE : Long.parseLong(value.toString());
+    }
+}
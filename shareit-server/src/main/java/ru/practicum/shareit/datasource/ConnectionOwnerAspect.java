@@ -0,0 +1,29 @@
+package ru.practicum.shareit.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ConnectionOwnerAspect {
+
+    @Around("execution(public * ru.practicum.shareit..*Service.*(..))")
+    public Object markOwner(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (ConnectionTracker.currentOwner() != null) {
+            return joinPoint.proceed();
+        }
+        ConnectionTracker.setOwner(ClassUtils.getUserClass(joinPoint.getTarget()).getSimpleName() + "."
+                + joinPoint.getSignature().getName());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ConnectionTracker.setOwner(null);
+        }
+    }
+}
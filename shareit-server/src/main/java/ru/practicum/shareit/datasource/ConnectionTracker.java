@@ -0,0 +1,116 @@
+package ru.practicum.shareit.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Component
+public class ConnectionTracker implements BeanPostProcessor {
+    private static final ThreadLocal<String> OWNER = new ThreadLocal<>();
+
+    private final Map<String, HikariDataSource> pools = new ConcurrentSkipListMap<>();
+    private final Map<Long, Checkout> held = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    static String currentOwner() {
+        return OWNER.get();
+    }
+
+    static void setOwner(String owner) {
+        if (owner == null) {
+            OWNER.remove();
+        } else {
+            OWNER.set(owner);
+        }
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof HikariDataSource)) {
+            return bean;
+        }
+        HikariDataSource dataSource = (HikariDataSource) bean;
+        String pool = dataSource.getPoolName() != null ? dataSource.getPoolName() : beanName;
+        pools.put(pool, dataSource);
+        return new TrackedDataSource(dataSource, pool, this);
+    }
+
+    public List<PoolState> pools() {
+        List<PoolState> states = new ArrayList<>();
+        pools.forEach((name, dataSource) -> {
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            if (pool == null) {
+                states.add(new PoolState(name, 0, 0, 0, 0, dataSource.getMaximumPoolSize()));
+            } else {
+                states.add(new PoolState(name, pool.getActiveConnections(), pool.getIdleConnections(),
+                        pool.getThreadsAwaitingConnection(), pool.getTotalConnections(),
+                        dataSource.getMaximumPoolSize()));
+            }
+        });
+        return states;
+    }
+
+    public List<HeldConnection> longestHeld(int limit) {
+        long now = System.currentTimeMillis();
+        return held.values().stream()
+                .sorted(Comparator.comparingLong(Checkout::getId))
+                .limit(limit)
+                .map(checkout -> new HeldConnection(checkout.getPool(), checkout.getOwner(), checkout.getThread(),
+                        LocalDateTime.ofInstant(Instant.ofEpochMilli(checkout.getAcquiredAt()), ZoneId.systemDefault()),
+                        now - checkout.getAcquiredAt()))
+                .collect(Collectors.toList());
+    }
+
+    Connection track(String pool, Connection connection) {
+        long id = sequence.incrementAndGet();
+        held.put(id, new Checkout(id, pool, OWNER.get(), Thread.currentThread().getName(),
+                System.currentTimeMillis()));
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "close":
+                            held.remove(id);
+                            break;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class Checkout {
+        private final long id;
+        private final String pool;
+        private final String owner;
+        private final String thread;
+        private final long acquiredAt;
+    }
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+@Component
+@Endpoint(id = "connections")
+@RequiredArgsConstructor
+public class ConnectionsEndpoint {
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final ConnectionTracker tracker;
+
+    @ReadOperation
+    public ConnectionsReport connections(@Nullable Integer limit) {
+        return new ConnectionsReport(tracker.pools(),
+                tracker.longestHeld(limit == null || limit <= 0 ? DEFAULT_LIMIT : limit));
+    }
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.datasource;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ConnectionsReport {
+    private List<PoolState> pools;
+
+    private List<HeldConnection> held;
+}
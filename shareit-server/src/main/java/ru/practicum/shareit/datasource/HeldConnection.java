@@ -0,0 +1,20 @@
+package ru.practicum.shareit.datasource;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class HeldConnection {
+    private String pool;
+
+    private String owner;
+
+    private String thread;
+
+    private LocalDateTime acquiredAt;
+
+    private long heldMillis;
+}
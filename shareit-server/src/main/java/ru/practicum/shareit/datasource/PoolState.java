@@ -0,0 +1,20 @@
+package ru.practicum.shareit.datasource;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class PoolState {
+    private String pool;
+
+    private int active;
+
+    private int idle;
+
+    private int pending;
+
+    private int total;
+
+    private int max;
+}
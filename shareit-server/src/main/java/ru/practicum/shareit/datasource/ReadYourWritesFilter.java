@@ -0,0 +1,88 @@
+package ru.practicum.shareit.datasource;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    private static final String CUSTOM_USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final int MAX_TRACKED_WRITERS = 10_000;
+
+    private final Map<Long, Long> lastWrites = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> writesInProgress = new ConcurrentHashMap<>();
+    private final long maxLagNanos;
+
+    public ReadYourWritesFilter(Duration maxLag) {
+        this.maxLagNanos = maxLag.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Long userId = userId(request);
+        boolean read = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+        boolean write = !read && userId != null;
+        if (write) {
+            writesInProgress.merge(userId, 1, Integer::sum);
+        }
+
+        ReplicaRoutingDataSource.setReplicaAllowed(read && !wroteRecently(userId));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReplicaRoutingDataSource.setReplicaAllowed(false);
+            if (write) {
+                if (response.getStatus() < 400) {
+                    recordWrite(userId);
+                }
+                writesInProgress.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+            }
+        }
+    }
+
+    private boolean wroteRecently(Long userId) {
+        if (userId == null) {
+            return false;
+        }
+        if (writesInProgress.containsKey(userId)) {
+            return true;
+        }
+        Long lastWrite = lastWrites.get(userId);
+        if (lastWrite == null) {
+            return false;
+        }
+        if (System.nanoTime() - lastWrite < maxLagNanos) {
+            return true;
+        }
+        lastWrites.remove(userId, lastWrite);
+        return false;
+    }
+
+    private void recordWrite(long userId) {
+        long now = System.nanoTime();
+        lastWrites.put(userId, now);
+        if (lastWrites.size() > MAX_TRACKED_WRITERS) {
+            lastWrites.values().removeIf(lastWrite -> now - lastWrite >= maxLagNanos);
+        }
+    }
+
+    private static Long userId(HttpServletRequest request) {
+        String header = request.getHeader(CUSTOM_USER_ID_HEADER);
+        if (header == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.datasource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+public class TrackedDataSource extends DelegatingDataSource {
+    private final String pool;
+    private final ConnectionTracker tracker;
+
+    public TrackedDataSource(DataSource targetDataSource, String pool, ConnectionTracker tracker) {
+        super(targetDataSource);
+        this.pool = pool;
+        this.tracker = tracker;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return tracker.track(pool, obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return tracker.track(pool, obtainTargetDataSource().getConnection(username, password));
+    }
+}
@@ -54,6 +54,34 @@ public class ErrorHandler {
         return new ErrorResponse(e.getMessage(), "Бронь уже подтверждена");
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleBookingOverlap(final BookingOverlapException e) {
+        log.info("Вещь уже забронирована на выбранный период");
+        return new ErrorResponse(e.getMessage(), "Вещь уже забронирована на выбранный период");
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleInvalidCursor(final InvalidCursorException e) {
+        log.info("Некорректный курсор пагинации");
+        return new ErrorResponse(e.getMessage(), "Некорректный курсор пагинации");
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleInvalidImportFile(final InvalidImportFileException e) {
+        log.info("Некорректный файл импорта");
+        return new ErrorResponse(e.getMessage(), "Некорректный файл импорта");
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleInvalidBatch(final InvalidBatchException e) {
+        log.info("Некорректный пакет броней");
+        return new ErrorResponse(e.getMessage(), "Некорректный пакет броней");
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorResponse handleThrowable(final Throwable e) {
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class InvalidImportFileException extends RuntimeException {
+    public InvalidImportFileException(String message) {
+        super(message);
+    }
+}
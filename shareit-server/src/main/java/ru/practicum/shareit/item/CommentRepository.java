@@ -1,11 +1,17 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findAllByItemId(long itemId);
+    @Query("SELECT c FROM Comment c " +
+            "WHERE c.item.id = :itemId")
+    List<Comment> findAllByItemId(@Param("itemId") long itemId);
 
-    List<Comment> findAllByItemIdIn(List<Long> itemIds);
+    @Query("SELECT c FROM Comment c " +
+            "WHERE c.item.id IN :itemIds")
+    List<Comment> findAllByItemIdIn(@Param("itemIds") List<Long> itemIds);
 }
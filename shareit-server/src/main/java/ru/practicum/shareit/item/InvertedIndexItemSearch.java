@@ -0,0 +1,286 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemSearchIndexStatsDto;
+import ru.practicum.shareit.request.ItemRequest;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "shareit.search.mode", havingValue = "index")
+public class InvertedIndexItemSearch implements ItemSearch {
+    private static final int GRAM_SIZE = 3;
+    private static final int BATCH_SIZE = 10_000;
+
+    private final ItemRepository repository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Map<String, PostingList> postings = new HashMap<>();
+    private Map<Long, IndexedItem> items = new HashMap<>();
+    private PostingList allIds = new PostingList();
+    private List<IndexedItem> indexedDuringRebuild;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    public synchronized ItemSearchIndexStatsDto rebuild() {
+        setIndexedDuringRebuild(new ArrayList<>());
+
+        Map<String, PostingList> newPostings = new HashMap<>();
+        Map<Long, IndexedItem> newItems = new HashMap<>();
+        PostingList newAllIds = new PostingList();
+        try {
+            load(newPostings, newItems, newAllIds);
+        } catch (RuntimeException e) {
+            setIndexedDuringRebuild(null);
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            indexedDuringRebuild.forEach(item -> add(item, newPostings, newItems, newAllIds));
+            indexedDuringRebuild = null;
+            postings = newPostings;
+            items = newItems;
+            allIds = newAllIds;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        ItemSearchIndexStatsDto stats = getStats();
+        log.info("Поисковый индекс вещей построен: {}", stats);
+        return stats;
+    }
+
+    @Override
+    public List<Item> search(String text, Pageable pageable) {
+        String query = text.toLowerCase();
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+
+        lock.readLock().lock();
+        try {
+            long[] candidates = findCandidates(query);
+            List<Item> result = new ArrayList<>();
+            long skipped = 0;
+            for (long id : candidates) {
+                IndexedItem item = items.get(id);
+                if (item == null || !item.matches(query)) {
+                    continue;
+                }
+                if (skipped++ < offset) {
+                    continue;
+                }
+                result.add(item.toItem());
+                if (result.size() == limit) {
+                    break;
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void index(Item item) {
+        IndexedItem indexedItem = new IndexedItem(item.getId(), item.getName(), item.getDescription(),
+                Boolean.TRUE.equals(item.getAvailable()),
+                item.getRequest() != null ? item.getRequest().getId() : null);
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(indexedItem);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(indexedItem);
+            }
+        });
+    }
+
+    public ItemSearchIndexStatsDto getStats() {
+        lock.readLock().lock();
+        try {
+            long postingCount = 0;
+            long postingBytes = 0;
+            long estimatedBytes = 0;
+            for (Map.Entry<String, PostingList> entry : postings.entrySet()) {
+                postingCount += entry.getValue().size();
+                postingBytes += entry.getValue().byteSize();
+                estimatedBytes += 48 + 2L * entry.getKey().length() + 32 + 16 + entry.getValue().byteSize();
+            }
+            for (IndexedItem item : items.values()) {
+                estimatedBytes += item.estimateBytes();
+            }
+            return new ItemSearchIndexStatsDto(items.size(), postings.size(), postingCount, postingBytes,
+                    estimatedBytes + allIds.byteSize());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void load(Map<String, PostingList> newPostings, Map<Long, IndexedItem> newItems,
+                      PostingList newAllIds) {
+        long lastId = 0;
+        List<ItemSearchView> batch;
+        do {
+            batch = repository.findSearchViewsAfter(lastId, PageRequest.of(0, BATCH_SIZE));
+            for (ItemSearchView view : batch) {
+                IndexedItem item = new IndexedItem(view.getId(), view.getName(), view.getDescription(),
+                        Boolean.TRUE.equals(view.getAvailable()), view.getRequestId());
+                add(item, newPostings, newItems, newAllIds);
+                lastId = view.getId();
+            }
+        } while (batch.size() == BATCH_SIZE);
+        newPostings.values().forEach(PostingList::trim);
+    }
+
+    private void setIndexedDuringRebuild(List<IndexedItem> pending) {
+        lock.writeLock().lock();
+        try {
+            indexedDuringRebuild = pending;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(IndexedItem item) {
+        lock.writeLock().lock();
+        try {
+            add(item, postings, items, allIds);
+            if (indexedDuringRebuild != null) {
+                indexedDuringRebuild.add(item);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long[] findCandidates(String query) {
+        if (query.length() < GRAM_SIZE) {
+            return allIds.toArray();
+        }
+        Set<String> grams = grams(query);
+        List<PostingList> lists = new ArrayList<>(grams.size());
+        for (String gram : grams) {
+            PostingList list = postings.get(gram);
+            if (list == null) {
+                return new long[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(PostingList::size));
+
+        long[] candidates = lists.get(0).toArray();
+        for (int i = 1; i < lists.size() && candidates.length > 0; i++) {
+            candidates = PostingList.intersect(candidates, lists.get(i).toArray());
+        }
+        return candidates;
+    }
+
+    private static void add(IndexedItem item, Map<String, PostingList> postings, Map<Long, IndexedItem> items,
+                            PostingList allIds) {
+        IndexedItem previous = items.put(item.id, item);
+        Set<String> grams = grams(item.searchText);
+        if (previous == null) {
+            allIds.add(item.id);
+            for (String gram : grams) {
+                postings.computeIfAbsent(gram, key -> new PostingList()).add(item.id);
+            }
+            return;
+        }
+
+        Set<String> previousGrams = grams(previous.searchText);
+        for (String gram : previousGrams) {
+            if (grams.contains(gram)) {
+                continue;
+            }
+            PostingList list = postings.get(gram);
+            if (list != null) {
+                list.remove(item.id);
+                if (list.size() == 0) {
+                    postings.remove(gram);
+                }
+            }
+        }
+        for (String gram : grams) {
+            if (!previousGrams.contains(gram)) {
+                postings.computeIfAbsent(gram, key -> new PostingList()).add(item.id);
+            }
+        }
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_SIZE <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_SIZE));
+        }
+        return grams;
+    }
+
+    private static class IndexedItem {
+        private final long id;
+        private final String name;
+        private final String description;
+        private final boolean available;
+        private final Long requestId;
+        private final String searchText;
+
+        private IndexedItem(long id, String name, String description, boolean available, Long requestId) {
+            this.id = id;
+            this.name = name;
+            this.description = description;
+            this.available = available;
+            this.requestId = requestId;
+            this.searchText = lower(name) + "\n" + lower(description);
+        }
+
+        private boolean matches(String query) {
+            return available && searchText.contains(query);
+        }
+
+        private long estimateBytes() {
+            return 72 + 2L * (length(name) + length(description) + searchText.length()) + 3 * 40;
+        }
+
+        private Item toItem() {
+            Item item = new Item();
+            item.setId(id);
+            item.setName(name);
+            item.setDescription(description);
+            item.setAvailable(available);
+            if (requestId != null) {
+                ItemRequest request = new ItemRequest();
+                request.setId(requestId);
+                item.setRequest(request);
+            }
+            return item;
+        }
+
+        private static String lower(String value) {
+            return value != null ? value.toLowerCase() : "";
+        }
+
+        private static int length(String value) {
+            return value != null ? value.length() : 0;
+        }
+    }
+}
@@ -33,7 +33,7 @@ public class ItemController {
     public ItemDto updateItem(@RequestHeader(CUSTOM_USER_ID_HEADER) long userId,
                               @PathVariable long itemId,
                               @RequestBody ItemCreateDto itemCreateDto) {
-        log.info(String.format("Обновляем вещь %s с идентификатором %s", itemCreateDto, itemId));
+        log.info("Обновляем вещь {} с идентификатором {}", itemCreateDto, itemId);
         itemCreateDto.setId(itemId);
         return service.update(itemCreateDto, userId);
     }
@@ -41,7 +41,7 @@ public class ItemController {
     @GetMapping("/{itemId}")
     public ItemDto getItem(@PathVariable long itemId,
                            @RequestHeader(CUSTOM_USER_ID_HEADER) long userId) {
-        log.info(String.format("Получаем вещь с идентификатором %s", itemId));
+        log.info("Получаем вещь с идентификатором {}", itemId);
         return service.get(itemId, userId);
     }
 
@@ -49,7 +49,7 @@ public class ItemController {
     public List<ItemDto> getAllItemsOfOwner(@RequestHeader(CUSTOM_USER_ID_HEADER) long ownerId,
                                             @RequestParam int from,
                                             @RequestParam int size) {
-        log.info(String.format("Получаем вещь владельца с идентификатором %s", ownerId));
+        log.info("Получаем вещь владельца с идентификатором {}", ownerId);
 
         Pageable pageable = PageRequest.of(from / size, size, Sort.by("id").ascending());
         return service.getAll(ownerId, pageable);
@@ -59,7 +59,7 @@ public class ItemController {
     public List<ItemDto> searchItems(@RequestParam String text,
                                      @RequestParam int from,
                                      @RequestParam int size) {
-        log.info(String.format("Ищем вещи по любому полю, которое содержит %s в себе", text));
+        log.info("Ищем вещи по любому полю, которое содержит {} в себе", text);
         Pageable pageable = PageRequest.of(from / size, size);
         return service.search(text, pageable);
     }
@@ -68,7 +68,7 @@ public class ItemController {
     public CommentDto createComment(@PathVariable long itemId,
                                     @RequestBody CommentDto commentDto,
                                     @RequestHeader(CUSTOM_USER_ID_HEADER) long userId) {
-        log.info(String.format("Создаем комментарий к вещи с идентификатором %s", itemId));
+        log.info("Создаем комментарий к вещи с идентификатором {}", itemId);
         return service.createComment(itemId, commentDto, userId);
     }
 }
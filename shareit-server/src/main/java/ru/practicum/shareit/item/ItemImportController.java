@@ -0,0 +1,32 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/items/import")
+@RequiredArgsConstructor
+@Slf4j
+public class ItemImportController {
+    private static final String CUSTOM_USER_ID_HEADER = "X-Sharer-User-Id";
+
+    private final ItemImportService service;
+
+    @PostMapping(consumes = {"application/x-ndjson", "text/csv"})
+    public ItemImportResultDto importItems(@RequestHeader(CUSTOM_USER_ID_HEADER) long userId,
+                                           @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                           HttpServletRequest request) throws IOException {
+        log.info("Импортируем вещи пользователя {} в формате {}", userId, contentType);
+        return service.importItems(userId, contentType, request.getInputStream());
+    }
+}
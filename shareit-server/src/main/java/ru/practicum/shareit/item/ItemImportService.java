@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.http.MediaType;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ItemImportService {
+    MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    MediaType CSV = MediaType.parseMediaType("text/csv");
+
+    ItemImportResultDto importItems(long userId, MediaType contentType, InputStream inputStream) throws IOException;
+}
@@ -0,0 +1,281 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.InvalidImportFileException;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemImportServiceImpl implements ItemImportService {
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final int MAX_LINE_LENGTH = 8192;
+    private static final List<String> REQUIRED_COLUMNS = List.of("name", "description", "available");
+
+    private final ItemRepository repository;
+
+    private final UserRepository userRepository;
+
+    private final ItemRequestRepository itemRequestRepository;
+
+    private final ItemSearch itemSearch;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final EntityManager entityManager;
+
+    @Override
+    public ItemImportResultDto importItems(long userId, MediaType contentType, InputStream inputStream)
+            throws IOException {
+        User owner = userRepository.findById(userId)
+                .orElseThrow(() -> new NotFoundException(
+                        String.format("Пользователь с идентификатором %s не найден", userId)));
+
+        boolean csv = CSV.isCompatibleWith(contentType);
+        if (!csv && !NDJSON.isCompatibleWith(contentType)) {
+            throw new InvalidImportFileException(String.format("Неподдерживаемый формат импорта %s", contentType));
+        }
+
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, charset));
+        ItemImportResultDto result = new ItemImportResultDto();
+        Map<String, Integer> columns = csv ? readCsvHeader(reader) : null;
+        long lineNumber = csv ? 1 : 0;
+        List<ItemCreateDto> batch = new ArrayList<>(BATCH_SIZE);
+        long batchFirstLine = 0;
+        long batchLastLine = 0;
+
+        String line;
+        while ((line = readLine(reader)) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (line.length() > MAX_LINE_LENGTH) {
+                addError(result, lineNumber, String.format("Строка длиннее %d символов", MAX_LINE_LENGTH));
+                continue;
+            }
+            ItemCreateDto itemCreateDto;
+            try {
+                itemCreateDto = csv ? parseCsvItem(columns, line) : objectMapper.readValue(line, ItemCreateDto.class);
+            } catch (JsonProcessingException | IllegalArgumentException e) {
+                addError(result, lineNumber, "Не удалось разобрать строку");
+                continue;
+            }
+
+            String violations = validate(itemCreateDto);
+            if (violations != null) {
+                addError(result, lineNumber, violations);
+                continue;
+            }
+
+            itemCreateDto.setId(null);
+            if (batch.isEmpty()) {
+                batchFirstLine = lineNumber;
+            }
+            batch.add(itemCreateDto);
+            batchLastLine = lineNumber;
+            if (batch.size() == BATCH_SIZE) {
+                saveBatch(owner, batch, batchFirstLine, batchLastLine, result);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            saveBatch(owner, batch, batchFirstLine, batchLastLine, result);
+        }
+
+        log.info("Импорт вещей пользователя {} завершен: импортировано {}, с ошибками {}",
+                userId, result.getImported(), result.getFailed());
+        return result;
+    }
+
+    private void saveBatch(User owner, List<ItemCreateDto> batch, long firstLine, long lastLine,
+                           ItemImportResultDto result) {
+        Set<Long> requestIds = batch.stream()
+                .map(ItemCreateDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<Long, ItemRequest> requests = itemRequestRepository.findAllById(requestIds).stream()
+                        .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+
+                List<Item> items = batch.stream()
+                        .map(itemCreateDto -> ItemMapper.mapToItem(itemCreateDto, owner,
+                                requests.get(itemCreateDto.getRequestId())))
+                        .collect(Collectors.toList());
+
+                repository.saveAll(items).forEach(itemSearch::index);
+            });
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Не удалось сохранить строки {}-{} импорта пользователя {}", firstLine, lastLine,
+                    owner.getId(), e);
+            addErrors(result, firstLine, batch.size(),
+                    String.format("Не удалось сохранить строки %d-%d", firstLine, lastLine));
+            return;
+        } finally {
+            entityManager.clear();
+        }
+
+        result.setImported(result.getImported() + batch.size());
+        log.info("Импортировано {} вещей пользователя {}", result.getImported(), owner.getId());
+    }
+
+    private String validate(ItemCreateDto itemCreateDto) {
+        Set<ConstraintViolation<ItemCreateDto>> violations = validator.validate(itemCreateDto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static void addError(ItemImportResultDto result, long lineNumber, String error) {
+        addErrors(result, lineNumber, 1, error);
+    }
+
+    private static void addErrors(ItemImportResultDto result, long lineNumber, int rows, String error) {
+        result.setFailed(result.getFailed() + rows);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new ItemImportErrorDto(lineNumber, error));
+        }
+    }
+
+    private static Map<String, Integer> readCsvHeader(BufferedReader reader) throws IOException {
+        String header = readLine(reader);
+        if (header == null) {
+            throw new InvalidImportFileException("Файл импорта пуст");
+        }
+        if (header.length() > MAX_LINE_LENGTH) {
+            throw new InvalidImportFileException(String.format("Заголовок CSV длиннее %d символов", MAX_LINE_LENGTH));
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = parseCsvLine(header.startsWith("\uFEFF") ? header.substring(1) : header);
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(), i);
+        }
+        for (String column : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new InvalidImportFileException(String.format("В заголовке CSV нет колонки %s", column));
+            }
+        }
+        return columns;
+    }
+
+    private static String readLine(BufferedReader reader) throws IOException {
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        StringBuilder line = new StringBuilder();
+        while (c != -1 && c != '\n' && c != '\r') {
+            if (line.length() <= MAX_LINE_LENGTH) {
+                line.append((char) c);
+            }
+            c = reader.read();
+        }
+        if (c == '\r') {
+            reader.mark(1);
+            if (reader.read() != '\n') {
+                reader.reset();
+            }
+        }
+        return line.toString();
+    }
+
+    private static ItemCreateDto parseCsvItem(Map<String, Integer> columns, String line) {
+        List<String> values = parseCsvLine(line);
+
+        ItemCreateDto itemCreateDto = new ItemCreateDto();
+        itemCreateDto.setName(csvValue(values, columns.get("name")));
+        itemCreateDto.setDescription(csvValue(values, columns.get("description")));
+
+        String available = csvValue(values, columns.get("available"));
+        if (available != null) {
+            if (!available.equalsIgnoreCase("true") && !available.equalsIgnoreCase("false")) {
+                throw new IllegalArgumentException(available);
+            }
+            itemCreateDto.setAvailable(Boolean.valueOf(available));
+        }
+
+        String requestId = csvValue(values, columns.get("requestid"));
+        itemCreateDto.setRequestId(requestId != null ? Long.valueOf(requestId) : null);
+        return itemCreateDto;
+    }
+
+    private static String csvValue(List<String> values, Integer column) {
+        if (column == null || column >= values.size() || values.get(column).isEmpty()) {
+            return null;
+        }
+        return values.get(column);
+    }
+
+    private static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Незакрытая кавычка");
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
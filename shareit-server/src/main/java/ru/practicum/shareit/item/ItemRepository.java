@@ -2,16 +2,59 @@ package ru.practicum.shareit.item;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    List<Item> findAllByOwnerId(Long ownerId, Pageable pageable);
+    @Query("SELECT i FROM Item i " +
+            "WHERE i.owner.id = :ownerId")
+    List<Item> findAllByOwnerId(@Param("ownerId") Long ownerId, Pageable pageable);
 
     List<Item> findByNameOrDescriptionContainingIgnoreCaseAndAvailableTrue(String name, String description,
                                                                            Pageable pageable);
 
-    List<Item> findAllByRequestIdIn(List<Long> requests);
+    @Query(value = "SELECT * FROM items i " +
+            "WHERE i.is_available = TRUE " +
+            "and (i.name ILIKE CONCAT('%', :pattern, '%') ESCAPE '\\' " +
+            "or i.description ILIKE CONCAT('%', :pattern, '%') ESCAPE '\\') " +
+            "ORDER BY GREATEST(similarity(i.name, :text), similarity(i.description, :text)) DESC, i.id",
+            nativeQuery = true)
+    List<Item> searchByTrigram(@Param("pattern") String pattern, @Param("text") String text, Pageable pageable);
 
-    List<Item> findAllByRequestId(Long requestId);
+    @Query("SELECT i.id AS id, i.name AS name, i.description AS description, i.available AS available, " +
+            "r.id AS requestId " +
+            "FROM Item i LEFT JOIN i.request r " +
+            "WHERE i.id > :id " +
+            "ORDER BY i.id")
+    List<ItemSearchView> findSearchViewsAfter(@Param("id") long id, Pageable pageable);
+
+    @Query("SELECT i FROM Item i " +
+            "WHERE i.request.id IN :requests")
+    List<Item> findAllByRequestIdIn(@Param("requests") List<Long> requests);
+
+    @Query("SELECT i FROM Item i " +
+            "WHERE i.request.id = :requestId")
+    List<Item> findAllByRequestId(@Param("requestId") Long requestId);
+
+    @Query(value = "SELECT i.id AS id, i.name AS name, i.description AS description, i.is_available AS available, " +
+            "i.user_id AS ownerId, i.request_id AS requestId, " +
+            "MAX(CASE WHEN b.start_date < :time THEN b.id END) AS lastBookingId, " +
+            "MAX(CASE WHEN b.start_date < :time THEN b.booker_id END) AS lastBookerId, " +
+            "MAX(CASE WHEN b.start_date > :time THEN b.id END) AS nextBookingId, " +
+            "MAX(CASE WHEN b.start_date > :time THEN b.booker_id END) AS nextBookerId " +
+            "FROM items i " +
+            "LEFT JOIN (SELECT bk.id, bk.booker_id, bk.item_id, bk.start_date, " +
+            "ROW_NUMBER() OVER (PARTITION BY CASE WHEN bk.start_date < :time THEN 0 ELSE 1 END " +
+            "ORDER BY CASE WHEN bk.start_date < :time THEN bk.end_date END DESC, bk.start_date) AS rn " +
+            "FROM bookings bk " +
+            "WHERE bk.item_id = :itemId and bk.status = 'APPROVED' and bk.start_date <> :time) b " +
+            "ON b.item_id = i.id and b.rn = 1 " +
+            "WHERE i.id = :itemId " +
+            "GROUP BY i.id, i.name, i.description, i.is_available, i.user_id, i.request_id",
+            nativeQuery = true)
+    Optional<ItemDetails> findDetailsById(@Param("itemId") long itemId, @Param("time") LocalDateTime time);
 }
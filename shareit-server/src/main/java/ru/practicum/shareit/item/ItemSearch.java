@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+public interface ItemSearch {
+    List<Item> search(String text, Pageable pageable);
+
+    default void index(Item item) {
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.item.dto.ItemSearchIndexStatsDto;
+
+@RestController
+@RequestMapping("/items/search/index")
+@RequiredArgsConstructor
+@Slf4j
+@ConditionalOnProperty(name = "shareit.search.mode", havingValue = "index")
+public class ItemSearchIndexController {
+    private final InvertedIndexItemSearch itemSearch;
+
+    @GetMapping
+    public ItemSearchIndexStatsDto getStats() {
+        log.info("Получаем статистику поискового индекса вещей");
+        return itemSearch.getStats();
+    }
+
+    @PostMapping
+    public ItemSearchIndexStatsDto rebuild() {
+        log.info("Перестраиваем поисковый индекс вещей");
+        return itemSearch.rebuild();
+    }
+}
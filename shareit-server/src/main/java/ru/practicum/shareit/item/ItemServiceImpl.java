@@ -4,9 +4,11 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.ItemBookingView;
 import ru.practicum.shareit.booking.dto.BookingItemDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.exception.NotEndedBookingException;
@@ -39,7 +41,10 @@ public class ItemServiceImpl implements ItemService {
 
     private final ItemRequestRepository itemRequestRepository;
 
+    private final ItemSearch itemSearch;
+
     @Override
+    @Transactional
     public ItemDto create(ItemCreateDto itemCreateDto, long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException(
@@ -48,23 +53,20 @@ public class ItemServiceImpl implements ItemService {
         ItemRequest request = itemCreateDto.getRequestId() != null ?
                 itemRequestRepository.findById(itemCreateDto.getRequestId()).orElse(null) : null;
 
-        Item item = ItemMapper.mapToItem(itemCreateDto, user, request);
+        Item item = repository.save(ItemMapper.mapToItem(itemCreateDto, user, request));
+        itemSearch.index(item);
 
-        return ItemMapper.mapToItemDto(repository.save(item));
+        return ItemMapper.mapToItemDto(item);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ItemDto get(long itemId, long userId) {
-        Item item = repository.findById(itemId)
+        ItemDetails itemDetails = repository.findDetailsById(itemId, LocalDateTime.now())
                 .orElseThrow(() -> new NotFoundException(
                         String.format("Вещь с идентификатором %s не найдена", itemId)));
 
-        ItemDto itemDto = ItemMapper.mapToItemDto(item);
-
-        if (userId == item.getOwner().getId()) {
-            itemDto.setLastBooking(getLastBooking(itemId));
-            itemDto.setNextBooking(getNextBooking(itemId));
-        }
+        ItemDto itemDto = ItemMapper.mapToItemDto(itemDetails, userId == itemDetails.getOwnerId());
 
         itemDto.setComments(getComments(itemId));
 
@@ -72,46 +74,45 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemDto> getAll(long ownerId, Pageable pageable) {
         List<Item> items = repository.findAllByOwnerId(ownerId, pageable);
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
 
         List<Long> itemsIds = items
                 .stream()
                 .map(Item::getId)
                 .collect(Collectors.toList());
 
-        List<Booking> bookings = bookingRepository.findAllByItemIdIn(itemsIds);
-        if (bookings.isEmpty()) {
-            return items
-                    .stream()
-                    .map(ItemMapper::mapToItemDto)
-                    .collect(Collectors.toList());
-        }
+        List<ItemBookingView> bookings = bookingRepository.findLastAndNextByItemIdIn(itemsIds, LocalDateTime.now());
         List<Comment> comments = commentRepository.findAllByItemIdIn(itemsIds);
 
-        Map<Long, List<Booking>> itemBookings = bookings.stream()
-                .collect(Collectors.groupingBy(booking -> booking.getItem().getId(), Collectors.toList()));
+        Map<Long, BookingItemDto> lastBookings = new HashMap<>();
+        Map<Long, BookingItemDto> nextBookings = new HashMap<>();
+        for (ItemBookingView booking : bookings) {
+            Map<Long, BookingItemDto> target = booking.getPast() ? lastBookings : nextBookings;
+            target.put(booking.getItemId(), BookingMapper.mapToBookingItemDto(booking));
+        }
         Map<Long, List<Comment>> itemComments = comments.stream()
                 .collect(Collectors.groupingBy(comment -> comment.getItem().getId(), Collectors.toList()));
 
         return items.stream()
                 .map(item -> {
-                    BookingItemDto lastBooking = getLastBooking(itemBookings.getOrDefault(item.getId(), new ArrayList<>()));
-                    BookingItemDto nextBooking = getNextBooking(itemBookings.getOrDefault(item.getId(), new ArrayList<>()));
-                    List<CommentDto> commentsItem = itemComments.containsKey(item.getId()) ?
-                            itemComments.get(item.getId())
-                                    .stream()
-                                    .map(CommentMapper::mapToCommentDto)
-                                    .collect(Collectors.toList())
-                            : new ArrayList<>();
-
-                    return ItemMapper.mapToItemDto(item, lastBooking,
-                            nextBooking, commentsItem);
+                    List<CommentDto> commentsItem = itemComments.getOrDefault(item.getId(), Collections.emptyList())
+                            .stream()
+                            .map(CommentMapper::mapToCommentDto)
+                            .collect(Collectors.toList());
+
+                    return ItemMapper.mapToItemDto(item, lastBookings.get(item.getId()),
+                            nextBookings.get(item.getId()), commentsItem);
                 })
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional
     public ItemDto update(ItemCreateDto itemCreateDto, long userId) {
         Item oldItem = repository.findById(itemCreateDto.getId())
                 .orElseThrow(() -> new NotFoundException(
@@ -126,24 +127,26 @@ public class ItemServiceImpl implements ItemService {
         }
 
         Item item = ItemMapper.mapToItem(itemCreateDto);
-        Item updatedItem = fillItem(item, oldItem);
+        Item updatedItem = repository.save(fillItem(item, oldItem));
+        itemSearch.index(updatedItem);
 
-        return ItemMapper.mapToItemDto(repository.save(updatedItem));
+        return ItemMapper.mapToItemDto(updatedItem);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemDto> search(String text, Pageable pageable) {
         if (text.isBlank()) {
             return Collections.emptyList();
         }
-        List<Item> searchedItems = repository.findByNameOrDescriptionContainingIgnoreCaseAndAvailableTrue(text, text,
-                pageable);
+        List<Item> searchedItems = itemSearch.search(text, pageable);
         return searchedItems.stream()
                 .map(ItemMapper::mapToItemDto)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional
     public CommentDto createComment(Long itemId, CommentDto commentDto, long userId) {
         Booking booking = bookingRepository.findFirstByItemIdAndBookerIdAndStatusEqualsAndEndDateIsBefore(itemId,
                         userId, BookingStatus.APPROVED, LocalDateTime.now(), Sort.by("endDate").descending())
@@ -167,39 +170,6 @@ public class ItemServiceImpl implements ItemService {
         return CommentMapper.mapToCommentDto(commentRepository.save(comment));
     }
 
-    private BookingItemDto getLastBooking(long itemId) {
-        return bookingRepository.findFirstByItemIdAndStatusEqualsAndStartDateIsBefore(itemId,
-                        BookingStatus.APPROVED, LocalDateTime.now(), Sort.by("endDate").descending())
-                .map(BookingMapper::mapToBookingItemDto)
-                .orElse(null);
-    }
-
-    private BookingItemDto getNextBooking(long itemId) {
-        return bookingRepository.findFirstByItemIdAndStatusEqualsAndStartDateIsAfter(itemId,
-                        BookingStatus.APPROVED, LocalDateTime.now(), Sort.by("startDate").ascending())
-                .map(BookingMapper::mapToBookingItemDto)
-                .orElse(null);
-    }
-
-    private BookingItemDto getLastBooking(List<Booking> bookings) {
-        Optional<Booking> lastBooking = bookings
-                .stream()
-                .filter(booking -> booking.getStatus().equals(BookingStatus.APPROVED)
-                        && booking.getStartDate().isBefore(LocalDateTime.now()))
-                .max(Comparator.comparing(Booking::getEndDate));
-
-        return lastBooking.map(BookingMapper::mapToBookingItemDto).orElse(null);
-    }
-
-    private BookingItemDto getNextBooking(List<Booking> bookings) {
-        Optional<Booking> nextBooking = bookings
-                .stream()
-                .filter(booking -> booking.getStatus().equals(BookingStatus.APPROVED)
-                        && booking.getStartDate().isAfter(LocalDateTime.now()))
-                .min(Comparator.comparing(Booking::getStartDate));
-        return nextBooking.map(BookingMapper::mapToBookingItemDto).orElse(null);
-    }
-
     private List<CommentDto> getComments(long itemId) {
         return commentRepository.findAllByItemId(itemId)
                 .stream()
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.item;
+
+import java.util.Arrays;
+
+class PostingList {
+    private byte[] data = new byte[4];
+    private int length;
+    private int size;
+    private long last;
+
+    void add(long id) {
+        if (id > last) {
+            append(id - last);
+            last = id;
+            size++;
+            return;
+        }
+        long[] ids = toArray();
+        int position = Arrays.binarySearch(ids, id);
+        if (position >= 0) {
+            return;
+        }
+        int insertion = -position - 1;
+        long[] updated = new long[ids.length + 1];
+        System.arraycopy(ids, 0, updated, 0, insertion);
+        updated[insertion] = id;
+        System.arraycopy(ids, insertion, updated, insertion + 1, ids.length - insertion);
+        rewrite(updated);
+    }
+
+    void remove(long id) {
+        if (id > last) {
+            return;
+        }
+        long[] ids = toArray();
+        int position = Arrays.binarySearch(ids, id);
+        if (position < 0) {
+            return;
+        }
+        long[] updated = new long[ids.length - 1];
+        System.arraycopy(ids, 0, updated, 0, position);
+        System.arraycopy(ids, position + 1, updated, position, updated.length - position);
+        rewrite(updated);
+    }
+
+    long[] toArray() {
+        long[] ids = new long[size];
+        long current = 0;
+        int position = 0;
+        for (int i = 0; i < size; i++) {
+            long delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                delta |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            current += delta;
+            ids[i] = current;
+        }
+        return ids;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int byteSize() {
+        return data.length;
+    }
+
+    void trim() {
+        data = Arrays.copyOf(data, Math.max(1, length));
+    }
+
+    static long[] intersect(long[] first, long[] second) {
+        long[] result = new long[Math.min(first.length, second.length)];
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < first.length && j < second.length) {
+            if (first[i] < second[j]) {
+                i++;
+            } else if (first[i] > second[j]) {
+                j++;
+            } else {
+                result[count++] = first[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    private void rewrite(long[] ids) {
+        data = new byte[Math.max(4, ids.length * 2)];
+        length = 0;
+        size = 0;
+        last = 0;
+        for (long id : ids) {
+            append(id - last);
+            last = id;
+            size++;
+        }
+    }
+
+    private void append(long delta) {
+        if (length + 10 > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + 10));
+        }
+        while ((delta & ~0x7FL) != 0) {
+            data[length++] = (byte) ((delta & 0x7F) | 0x80);
+            delta >>>= 7;
+        }
+        data[length++] = (byte) delta;
+    }
+}
@@ -2,14 +2,24 @@ package ru.practicum.shareit.item.dto;
 
 import lombok.Data;
 
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
 @Data
 public class ItemCreateDto {
     private Long id;
 
+    @NotNull
+    @NotBlank
     private String name;
 
+    @NotNull
+    @NotBlank
+    @Size(max = 200)
     private String description;
 
+    @NotNull
     private Boolean available;
 
     private Long requestId;
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ItemImportResultDto {
+    private long imported;
+
+    private long failed;
+
+    private List<ItemImportErrorDto> errors = new ArrayList<>();
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ItemSearchIndexStatsDto {
+    private int documents;
+
+    private int tokens;
+
+    private long postings;
+
+    private long postingBytes;
+
+    private long estimatedBytes;
+}
@@ -3,6 +3,7 @@ package ru.practicum.shareit.item.mapper;
 import lombok.Data;
 import ru.practicum.shareit.booking.dto.BookingItemDto;
 import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemDetails;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
 import ru.practicum.shareit.item.dto.ItemDto;
@@ -41,6 +42,24 @@ public class ItemMapper {
         return itemDto;
     }
 
+    public static ItemDto mapToItemDto(ItemDetails itemDetails, boolean withBookings) {
+        ItemDto itemDto = new ItemDto();
+        itemDto.setId(itemDetails.getId());
+        itemDto.setName(itemDetails.getName());
+        itemDto.setAvailable(itemDetails.getAvailable());
+        itemDto.setDescription(itemDetails.getDescription());
+        itemDto.setRequestId(itemDetails.getRequestId());
+
+        if (withBookings) {
+            itemDto.setLastBooking(itemDetails.getLastBookingId() != null ?
+                    new BookingItemDto(itemDetails.getLastBookingId(), itemDetails.getLastBookerId()) : null);
+            itemDto.setNextBooking(itemDetails.getNextBookingId() != null ?
+                    new BookingItemDto(itemDetails.getNextBookingId(), itemDetails.getNextBookerId()) : null);
+        }
+
+        return itemDto;
+    }
+
     public static Item mapToItem(ItemCreateDto itemCreateDto, User owner, ItemRequest request) {
         Item item = new Item();
         item.setId(itemCreateDto.getId());
@@ -3,12 +3,16 @@ package ru.practicum.shareit.request;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
-    List<ItemRequest> findAllByRequestorId(long requestorId, Sort sort);
+    @Query("SELECT r FROM ItemRequest r " +
+            "WHERE r.requestor.id = :requestorId")
+    List<ItemRequest> findAllByRequestorId(@Param("requestorId") long requestorId, Sort sort);
 
     List<ItemRequest> findAllByRequestorIdNot(long requestId, Pageable pageable);
 }
@@ -4,6 +4,7 @@ import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
@@ -13,6 +14,7 @@ import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserIdIndex;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.util.ArrayList;
@@ -25,8 +27,10 @@ import java.util.stream.Collectors;
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository repository;
     private final UserRepository userRepository;
+    private final UserIdIndex userIdIndex;
     private final ItemRepository itemRepository;
 
+    @Transactional
     public ItemRequestDto create(long requestorId, ItemRequestCreateDto itemRequestDto) {
         User requestor = userRepository.findById(requestorId)
                 .orElseThrow(() -> new NotFoundException(
@@ -38,11 +42,9 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemRequestDto> getAll(long requestorId) {
-        User requestor = userRepository.findById(requestorId)
-                .orElseThrow(() -> new NotFoundException(
-                        String.format("Пользователь с идентификатором %s не найден", requestorId)));
-
+        checkIfUserExists(requestorId);
 
         List<ItemRequest> requests = repository.findAllByRequestorId(requestorId, Sort.by("created").descending());
 
@@ -50,10 +52,9 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ItemRequestDto get(long requestorId, long requestId) {
-        User requestor = userRepository.findById(requestorId)
-                .orElseThrow(() -> new NotFoundException(
-                        String.format("Пользователь с идентификатором %s не найден", requestorId)));
+        checkIfUserExists(requestorId);
 
         ItemRequest itemRequest = repository.findById(requestId)
                 .orElseThrow(() -> new NotFoundException(
@@ -67,10 +68,9 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ItemRequestDto> getAll(long requestorId, Pageable pageable) {
-        User requestor = userRepository.findById(requestorId)
-                .orElseThrow(() -> new NotFoundException(
-                        String.format("Пользователь с идентификатором %s не найден", requestorId)));
+        checkIfUserExists(requestorId);
 
         List<ItemRequest> requests = repository.findAllByRequestorIdNot(requestorId, pageable);
 
@@ -99,4 +99,10 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 })
                 .collect(Collectors.toList());
     }
+
+    private void checkIfUserExists(long userId) {
+        if (!userIdIndex.exists(userId)) {
+            throw new NotFoundException(String.format("Пользователь с идентификатором %s не найден", userId));
+        }
+    }
 }
@@ -0,0 +1,142 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserIdIndex {
+    static final int MAX_INDEXED_ID = 1 << 26;
+
+    private final UserRepository repository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private BitSet ids = new BitSet();
+    private List<Consumer<BitSet>> changedDuringRebuild;
+    private long removals;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        setChangedDuringRebuild(new ArrayList<>());
+
+        BitSet newIds = new BitSet();
+        List<Long> userIds;
+        try {
+            userIds = repository.findAllIds();
+        } catch (RuntimeException e) {
+            setChangedDuringRebuild(null);
+            throw e;
+        }
+        userIds.forEach(userId -> set(newIds, userId));
+
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild.forEach(change -> change.accept(newIds));
+            changedDuringRebuild = null;
+            ids = newIds;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Индекс пользователей построен, загружено {} идентификаторов", userIds.size());
+    }
+
+    public boolean exists(long userId) {
+        if (contains(userId)) {
+            return true;
+        }
+        long removalsBeforeQuery = removals();
+        if (!repository.existsById(userId)) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            if (removals == removalsBeforeQuery) {
+                set(ids, userId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return true;
+    }
+
+    public void add(long userId) {
+        lock.writeLock().lock();
+        try {
+            set(ids, userId);
+            recordChange(newIds -> set(newIds, userId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long userId) {
+        if (!indexable(userId)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            ids.clear((int) userId);
+            removals++;
+            recordChange(newIds -> newIds.clear((int) userId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void setChangedDuringRebuild(List<Consumer<BitSet>> pending) {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = pending;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void recordChange(Consumer<BitSet> change) {
+        if (changedDuringRebuild != null) {
+            changedDuringRebuild.add(change);
+        }
+    }
+
+    private long removals() {
+        lock.readLock().lock();
+        try {
+            return removals;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean contains(long userId) {
+        if (!indexable(userId)) {
+            return false;
+        }
+        lock.readLock().lock();
+        try {
+            return ids.get((int) userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static void set(BitSet ids, long userId) {
+        if (indexable(userId)) {
+            ids.set((int) userId);
+        }
+    }
+
+    private static boolean indexable(long userId) {
+        return userId >= 0 && userId < MAX_INDEXED_ID;
+    }
+}
@@ -1,6 +1,11 @@
 package ru.practicum.shareit.user;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface UserRepository extends JpaRepository<User, Long> {
-}
\ No newline at end of file
+    @Query("select u.id from User u")
+    List<Long> findAllIds();
+}
@@ -2,6 +2,9 @@ package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
@@ -14,8 +17,10 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository repository;
+    private final UserIdIndex idIndex;
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserDto> getAll() {
         return repository.findAll().stream()
                 .map(UserMapper::mapToUserDto)
@@ -23,12 +28,15 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public UserDto create(UserDto userDto) {
-        User user = UserMapper.mapToUser(userDto);
-        return UserMapper.mapToUserDto(repository.save(user));
+        User user = repository.save(UserMapper.mapToUser(userDto));
+        addToIndexAfterCommit(user.getId());
+        return UserMapper.mapToUserDto(user);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserDto get(long id) {
         User user = repository.findById(id)
                 .orElseThrow(() -> new NotFoundException(
@@ -37,11 +45,14 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public void remove(long id) {
         repository.deleteById(id);
+        removeFromIndexAfterCommit(id);
     }
 
     @Override
+    @Transactional
     public UserDto update(UserUpdateDto userDto) {
         User user = UserMapper.mapToUser(userDto);
         User foundUser = repository.findById(user.getId())
@@ -52,6 +63,32 @@ public class UserServiceImpl implements UserService {
         return UserMapper.mapToUserDto(repository.save(updatedUser));
     }
 
+    private void addToIndexAfterCommit(long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            idIndex.add(id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                idIndex.add(id);
+            }
+        });
+    }
+
+    private void removeFromIndexAfterCommit(long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            idIndex.remove(id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                idIndex.remove(id);
+            }
+        });
+    }
+
     private User fillUser(User newUser, User oldUser) {
         if (newUser.getName() == null) {
             newUser.setName(oldUser.getName());
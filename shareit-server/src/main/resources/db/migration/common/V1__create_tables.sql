@@ -1,4 +1,3 @@
-DROP TABLE IF EXISTS users,items,bookings,requests,comments;
 CREATE TABLE IF NOT EXISTS users
 (
     id    BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
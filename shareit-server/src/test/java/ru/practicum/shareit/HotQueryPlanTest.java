@@ -0,0 +1,209 @@
+package ru.practicum.shareit;
+
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.request.ItemRequestRepository;
+
+import javax.persistence.EntityManager;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.practicum.shareit.HotQueryPlanTest$SqlRecorder")
+@Sql(config = @SqlConfig(transactionMode = SqlConfig.TransactionMode.ISOLATED), statements = {
+        "ALTER TABLE requests DROP CONSTRAINT IF EXISTS fk_requests_to_users",
+        "ALTER TABLE items DROP CONSTRAINT IF EXISTS fk_items_to_users",
+        "ALTER TABLE items DROP CONSTRAINT IF EXISTS fk_items_to_item_requests",
+        "ALTER TABLE bookings DROP CONSTRAINT IF EXISTS fk_bookings_to_users",
+        "ALTER TABLE bookings DROP CONSTRAINT IF EXISTS fk_bookings_to_items",
+        "ALTER TABLE comments DROP CONSTRAINT IF EXISTS fk_comments_to_users",
+        "ALTER TABLE comments DROP CONSTRAINT IF EXISTS fk_comments_to_items",
+        "MERGE INTO users (id, email, name) KEY (id) "
+                + "SELECT X, 'user' || X || '@mail.ru', 'user' FROM SYSTEM_RANGE(1, 100)",
+        "MERGE INTO requests (id, requestor_id, description, created) KEY (id) "
+                + "SELECT X, MOD(X, 100) + 1, 'request', CURRENT_TIMESTAMP FROM SYSTEM_RANGE(1, 200)",
+        "MERGE INTO items (id, name, description, user_id, request_id, is_available) KEY (id) "
+                + "SELECT X, 'item', 'item', MOD(X, 100) + 1, MOD(X, 200) + 1, TRUE FROM SYSTEM_RANGE(1, 1000)",
+        "MERGE INTO bookings (id, status, booker_id, item_id, start_date, end_date) KEY (id) "
+                + "SELECT X, CASE MOD(X, 3) WHEN 0 THEN 'APPROVED' WHEN 1 THEN 'WAITING' ELSE 'REJECTED' END, "
+                + "MOD(X, 100) + 1, MOD(X, 1000) + 1, DATEADD('DAY', MOD(X, 60) - 30, CURRENT_TIMESTAMP), "
+                + "DATEADD('DAY', MOD(X, 60) - 29, CURRENT_TIMESTAMP) FROM SYSTEM_RANGE(1, 5000)",
+        "MERGE INTO comments (id, author_id, item_id, text) KEY (id) "
+                + "SELECT X, MOD(X, 100) + 1, MOD(X, 1000) + 1, 'comment' FROM SYSTEM_RANGE(1, 2000)",
+        "ANALYZE"
+})
+class HotQueryPlanTest {
+    private static final PageRequest PAGE = PageRequest.of(0, 20, Sort.by("startDate").descending());
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @BeforeEach
+    void setUp() {
+        SqlRecorder.STATEMENTS.clear();
+    }
+
+    @Test
+    void shouldDeclareHotQueryIndexes() {
+        List<?> indexes = em.createNativeQuery("SELECT LOWER(INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES")
+                .getResultList();
+
+        assertTrue(indexes.containsAll(List.of(
+                "bookings_booker_id_start_date_idx",
+                "bookings_item_id_status_start_date_idx",
+                "items_user_id_idx",
+                "items_request_id_idx",
+                "comments_item_id_idx",
+                "requests_requestor_id_idx")), indexes.toString());
+    }
+
+    @Test
+    void shouldUseBookerIndexForBookerBookings() {
+        assertUsesIndex("bookings_booker_id_start_date_idx",
+                () -> bookingRepository.findAllByBookerId(1L, PAGE));
+    }
+
+    @Test
+    void shouldUseBookerIndexForBookerRejectedBookings() {
+        assertUsesIndex("bookings_booker_id_start_date_idx",
+                () -> bookingRepository.findAllByBookerIdAndStatusEquals(1L, BookingStatus.REJECTED, PAGE));
+    }
+
+    @Test
+    void shouldUseBookerIndexForBookerPastBookings() {
+        assertUsesIndex("bookings_booker_id_start_date_idx",
+                () -> bookingRepository.findAllByBookerIdWithPastState(1L, LocalDateTime.now(), PAGE));
+    }
+
+    @Test
+    void shouldUseItemStatusIndexForLastAndNextBookings() {
+        assertUsesIndex("bookings_item_id_status_start_date_idx",
+                () -> bookingRepository.findLastAndNextByItemIdIn(List.of(1L, 2L), LocalDateTime.now()));
+    }
+
+    @Test
+    void shouldUseOwnerIndexForOwnerBookings() {
+        assertUsesIndex("items_user_id_idx",
+                () -> bookingRepository.findAllByItemOwnerId(1L, PAGE));
+    }
+
+    @Test
+    void shouldUseOwnerIndexForOwnerWaitingBookings() {
+        assertUsesIndex("bookings_item_id_status_start_date_idx",
+                () -> bookingRepository.findAllByItemOwnerIdAndStatusEquals(1L, BookingStatus.WAITING, PAGE));
+    }
+
+    @Test
+    void shouldUseOwnerIndexForOwnerItems() {
+        assertUsesIndex("items_user_id_idx",
+                () -> itemRepository.findAllByOwnerId(1L, PageRequest.of(0, 20)));
+    }
+
+    @Test
+    void shouldUseRequestIndexForRequestItems() {
+        assertUsesIndex("items_request_id_idx",
+                () -> itemRepository.findAllByRequestIdIn(List.of(1L, 2L)));
+    }
+
+    @Test
+    void shouldUseItemIndexForComments() {
+        assertUsesIndex("comments_item_id_idx",
+                () -> commentRepository.findAllByItemIdIn(List.of(1L, 2L)));
+    }
+
+    @Test
+    void shouldUseRequestorIndexForOwnRequests() {
+        assertUsesIndex("requests_requestor_id_idx",
+                () -> itemRequestRepository.findAllByRequestorId(1L, Sort.by("created").descending()));
+    }
+
+    private void assertUsesIndex(String index, Runnable query) {
+        query.run();
+        List<String> selects = SqlRecorder.STATEMENTS;
+        assertFalse(selects.isEmpty());
+
+        String plan = explain(selects.get(0)).toLowerCase(Locale.ROOT);
+
+        assertFalse(plan.contains("tablescan"), plan);
+        assertTrue(plan.contains("public." + index), plan);
+    }
+
+    private String explain(String sql) {
+        return em.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                ParameterMetaData parameters = statement.getParameterMetaData();
+                for (int i = 1; i <= parameters.getParameterCount(); i++) {
+                    bind(statement, i, parameters.getParameterType(i));
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    return resultSet.getString(1);
+                }
+            }
+        });
+    }
+
+    private void bind(PreparedStatement statement, int index, int type) throws SQLException {
+        switch (type) {
+            case Types.VARCHAR:
+            case Types.CHAR:
+                statement.setString(index, BookingStatus.APPROVED.name());
+                break;
+            case Types.TIMESTAMP:
+                statement.setTimestamp(index, Timestamp.valueOf(LocalDateTime.now()));
+                break;
+            case Types.BOOLEAN:
+                statement.setBoolean(index, true);
+                break;
+            default:
+                statement.setLong(index, 1L);
+        }
+    }
+
+    public static class SqlRecorder implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.trim().toLowerCase(Locale.ROOT).startsWith("select")) {
+                STATEMENTS.add(sql);
+            }
+            return sql;
+        }
+    }
+}
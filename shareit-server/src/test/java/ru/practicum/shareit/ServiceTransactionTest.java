@@ -0,0 +1,154 @@
+package ru.practicum.shareit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.request.ItemRequestService;
+import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserUpdateDto;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ServiceTransactionTest {
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    @Autowired
+    private UserService userService;
+
+    private Statistics statistics;
+
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        owner = userRepository.save(newUser("owner"));
+        booker = userRepository.save(newUser("booker"));
+
+        item = new Item();
+        item.setName("Дрель");
+        item.setDescription("Простая дрель");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item = itemRepository.save(item);
+    }
+
+    @Test
+    void shouldCreateBookingInSingleTransaction() {
+        statistics.clear();
+
+        bookingService.create(newBooking(), booker.getId());
+
+        assertSingleTransaction();
+    }
+
+    @Test
+    void shouldApproveBookingInSingleTransaction() {
+        BookingDto booking = bookingService.create(newBooking(), booker.getId());
+        statistics.clear();
+
+        BookingDto approved = bookingService.updateStatus(booking.getId(), owner.getId(), true);
+
+        assertEquals(BookingStatus.APPROVED, approved.getStatus());
+        assertSingleTransaction();
+    }
+
+    @Test
+    void shouldUpdateUserInSingleTransaction() {
+        statistics.clear();
+
+        userService.update(new UserUpdateDto(owner.getId(), "Новое имя", null));
+
+        assertSingleTransaction();
+    }
+
+    @Test
+    void shouldReadItemInSingleTransactionWithoutFlush() {
+        statistics.clear();
+
+        itemService.get(item.getId(), owner.getId());
+
+        assertSingleTransaction();
+        assertEquals(0, statistics.getFlushCount());
+    }
+
+    @Test
+    void shouldReadOwnerItemsInSingleTransactionWithoutFlush() {
+        statistics.clear();
+
+        itemService.getAll(owner.getId(), Pageable.unpaged());
+
+        assertSingleTransaction();
+        assertEquals(0, statistics.getFlushCount());
+    }
+
+    @Test
+    void shouldReadItemRequestInSingleTransactionWithoutFlush() {
+        ItemRequestDto request = itemRequestService.create(booker.getId(),
+                new ItemRequestCreateDto("Нужна дрель"));
+        statistics.clear();
+
+        itemRequestService.get(booker.getId(), request.getId());
+
+        assertSingleTransaction();
+        assertEquals(0, statistics.getFlushCount());
+    }
+
+    private void assertSingleTransaction() {
+        assertEquals(1, statistics.getConnectCount(), "connections");
+        assertEquals(1, statistics.getTransactionCount(), "transactions");
+    }
+
+    private BookingCreateDto newBooking() {
+        BookingCreateDto bookingCreateDto = new BookingCreateDto();
+        bookingCreateDto.setItemId(item.getId());
+        bookingCreateDto.setStart(LocalDateTime.now().plusDays(1));
+        bookingCreateDto.setEnd(LocalDateTime.now().plusDays(2));
+        return bookingCreateDto;
+    }
+
+    private static User newUser(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + System.nanoTime() + "@email.ru");
+        return user;
+    }
+}
@@ -10,9 +10,12 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.exception.InvalidBatchException;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.User;
@@ -21,11 +24,15 @@ import ru.practicum.shareit.user.dto.UserDto;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.hamcrest.core.Is.is;
 import static org.mockito.ArgumentMatchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookingController.class)
@@ -94,6 +101,45 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$.booker", is(bookingDto.getBooker()), UserDto.class));
     }
 
+    @Test
+    void shouldCreateBookingsInBatch() throws Exception {
+        BookingDto bookingDto = BookingMapper.mapToBookingDto(BookingMapper.mapToBooking(bookingCreateDto, user, item));
+        bookingDto.setStatus(BookingStatus.WAITING);
+
+        Mockito
+                .when(bookingService.createAll(anyList(), anyLong()))
+                .thenReturn(List.of(new BookingBatchResultDto(0, bookingDto, null),
+                        new BookingBatchResultDto(1, null, "Вещь уже забронирована на выбранный период")));
+
+        mvc.perform(post("/bookings/batch")
+                        .content(mapper.writeValueAsString(List.of(bookingCreateDto, bookingCreateDto)))
+                        .header("X-Sharer-User-Id", 1L)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].index", is(0)))
+                .andExpect(jsonPath("$[0].booking.id", is(bookingDto.getId()), Long.class))
+                .andExpect(jsonPath("$[1].index", is(1)))
+                .andExpect(jsonPath("$[1].error", is("Вещь уже забронирована на выбранный период")));
+    }
+
+    @Test
+    void shouldReturnBadRequestForEmptyBatch() throws Exception {
+        Mockito
+                .when(bookingService.createAll(anyList(), anyLong()))
+                .thenThrow(new InvalidBatchException("Пакет должен содержать от 1 до 100 броней"));
+
+        mvc.perform(post("/bookings/batch")
+                        .content("[]")
+                        .header("X-Sharer-User-Id", 1L)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error", is("Пакет должен содержать от 1 до 100 броней")));
+    }
+
     @Test
     void shouldUpdateBookingStatus() throws Exception {
         BookingDto bookingDto = BookingMapper.mapToBookingDto(BookingMapper.mapToBooking(bookingCreateDto, user, item));
@@ -184,4 +230,96 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$[0].status", is(bookingDto.getStatus().toString())))
                 .andExpect(jsonPath("$[0].booker", is(bookingDto.getBooker()), UserDto.class));
     }
+
+    @Test
+    void shouldGetBookingsOfUserAfterCursorWithNextCursorHeader() throws Exception {
+        BookingDto bookingDto = BookingMapper.mapToBookingDto(booking);
+
+        Mockito
+                .when(bookingService.getAllByUser(anyLong(), any(BookingState.class), any(BookingCursor.class), anyInt()))
+                .thenReturn(List.of(bookingDto));
+
+        mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", user.getId())
+                        .param("state", "ALL")
+                        .param("cursor", "")
+                        .param("size", "1")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor",
+                        new BookingCursor(bookingDto.getStart(), bookingDto.getId()).encode()))
+                .andExpect(jsonPath("$[0].id", is(bookingDto.getId()), Long.class));
+    }
+
+    @Test
+    void shouldGetBookingsOfOwnerItemsAfterCursorWithoutNextCursorHeader() throws Exception {
+        BookingDto bookingDto = BookingMapper.mapToBookingDto(booking);
+        String cursor = new BookingCursor(LocalDateTime.now(), 5L).encode();
+
+        Mockito
+                .when(bookingService.getAllByOwnerItems(anyLong(), any(BookingState.class), any(BookingCursor.class), anyInt()))
+                .thenReturn(List.of(bookingDto));
+
+        mvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", user.getId())
+                        .param("state", "ALL")
+                        .param("cursor", cursor)
+                        .param("size", "10")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$[0].id", is(bookingDto.getId()), Long.class));
+    }
+
+    @Test
+    void shouldReturnBadRequestForInvalidCursor() throws Exception {
+        mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", user.getId())
+                        .param("state", "ALL")
+                        .param("cursor", "not-a-cursor")
+                        .param("size", "10")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldExportBookingsOfOwnerItemsAsNdjson() throws Exception {
+        BookingDto bookingDto = BookingMapper.mapToBookingDto(booking);
+
+        Mockito
+                .when(bookingService.exportAllByOwnerItems(anyLong(), any()))
+                .thenAnswer(invocation -> {
+                    Consumer<BookingDto> consumer = invocation.getArgument(1);
+                    consumer.accept(bookingDto);
+                    consumer.accept(bookingDto);
+                    return 2L;
+                });
+
+        MvcResult result = mvc.perform(get("/bookings/owner/export")
+                        .header("X-Sharer-User-Id", user.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String line = mapper.writeValueAsString(bookingDto);
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(content().string(line + "\n" + line + "\n"));
+    }
+
+    @Test
+    void shouldRejectExportOfUnknownOwnerBeforeStreaming() throws Exception {
+        Mockito
+                .doThrow(new IllegalStateException("Пользователь с идентификатором 99 не найден"))
+                .when(bookingService).checkIfUserExists(99L);
+
+        mvc.perform(get("/bookings/owner/export")
+                        .header("X-Sharer-User-Id", 99L))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isInternalServerError())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.description", is("Пользователь с идентификатором 99 не найден")));
+
+        Mockito.verify(bookingService, Mockito.never()).exportAllByOwnerItems(anyLong(), any());
+    }
 }
@@ -0,0 +1,169 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.Item;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+@ExtendWith(MockitoExtension.class)
+public class BookingIntervalIndexTest {
+    @Mock
+    private BookingRepository repository;
+
+    @InjectMocks
+    private BookingIntervalIndex index;
+
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        start = LocalDateTime.now().plusDays(1);
+    }
+
+    @Test
+    void shouldDetectOverlapWithApprovedInterval() {
+        assertTrue(index.tryAdd(1L, 1L, start, start.plusHours(2)));
+
+        assertTrue(index.overlaps(1L, start.plusHours(1), start.plusHours(3)));
+        assertTrue(index.overlaps(1L, start.minusHours(1), start.plusMinutes(1)));
+        assertTrue(index.overlaps(1L, start.plusMinutes(10), start.plusMinutes(20)));
+        assertFalse(index.overlaps(1L, start.plusHours(2), start.plusHours(3)));
+        assertFalse(index.overlaps(1L, start.minusHours(1), start));
+        assertFalse(index.overlaps(2L, start, start.plusHours(2)));
+    }
+
+    @Test
+    void shouldNotAddOverlappingInterval() {
+        assertTrue(index.tryAdd(1L, 1L, start, start.plusHours(2)));
+
+        assertFalse(index.tryAdd(1L, 2L, start.plusHours(1), start.plusHours(3)));
+        assertTrue(index.tryAdd(1L, 3L, start.plusHours(2), start.plusHours(3)));
+    }
+
+    @Test
+    void shouldAllowIntervalAfterRemove() {
+        index.tryAdd(1L, 1L, start, start.plusHours(2));
+        index.remove(1L, 1L);
+
+        assertFalse(index.overlaps(1L, start, start.plusHours(2)));
+        assertTrue(index.tryAdd(1L, 2L, start, start.plusHours(2)));
+    }
+
+    @Test
+    void shouldRebuildFromApprovedBookings() {
+        Item item = new Item();
+        item.setId(1L);
+
+        Booking booking = new Booking();
+        booking.setId(1L);
+        booking.setItem(item);
+        booking.setStartDate(start);
+        booking.setEndDate(start.plusHours(2));
+        booking.setStatus(BookingStatus.APPROVED);
+
+        Mockito
+                .when(repository.findAllByStatusEqualsAndEndDateIsAfter(eq(BookingStatus.APPROVED),
+                        any(LocalDateTime.class)))
+                .thenReturn(List.of(booking));
+
+        index.rebuild();
+
+        assertTrue(index.overlaps(1L, start.plusHours(1), start.plusHours(3)));
+    }
+
+    @Test
+    void shouldMergeOverlappingApprovedBookingsOnRebuild() {
+        Item item = new Item();
+        item.setId(1L);
+
+        Booking longBooking = new Booking();
+        longBooking.setId(1L);
+        longBooking.setItem(item);
+        longBooking.setStartDate(start);
+        longBooking.setEndDate(start.plusHours(10));
+        longBooking.setStatus(BookingStatus.APPROVED);
+
+        Booking shortBooking = new Booking();
+        shortBooking.setId(2L);
+        shortBooking.setItem(item);
+        shortBooking.setStartDate(start.plusHours(1));
+        shortBooking.setEndDate(start.plusHours(2));
+        shortBooking.setStatus(BookingStatus.APPROVED);
+
+        Mockito
+                .when(repository.findAllByStatusEqualsAndEndDateIsAfter(eq(BookingStatus.APPROVED),
+                        any(LocalDateTime.class)))
+                .thenReturn(List.of(longBooking, shortBooking));
+
+        index.rebuild();
+
+        assertTrue(index.overlaps(1L, start.plusHours(8), start.plusHours(9)));
+        assertFalse(index.tryAdd(1L, 3L, start.plusHours(5), start.plusHours(6)));
+    }
+
+    @Test
+    void shouldKeepIntervalsAddedDuringRebuild() {
+        Mockito
+                .when(repository.findAllByStatusEqualsAndEndDateIsAfter(eq(BookingStatus.APPROVED),
+                        any(LocalDateTime.class)))
+                .thenAnswer(invocation -> {
+                    index.tryAdd(1L, 1L, start, start.plusHours(2));
+                    index.tryAdd(2L, 2L, start, start.plusHours(2));
+                    index.remove(2L, 2L);
+                    return List.of();
+                });
+
+        index.rebuild();
+
+        assertTrue(index.overlaps(1L, start.plusHours(1), start.plusHours(3)));
+        assertFalse(index.overlaps(2L, start, start.plusHours(2)));
+    }
+
+    @Test
+    void shouldReplaceIntervalsOnRebuild() {
+        index.tryAdd(1L, 1L, start, start.plusHours(2));
+        Mockito
+                .when(repository.findAllByStatusEqualsAndEndDateIsAfter(eq(BookingStatus.APPROVED),
+                        any(LocalDateTime.class)))
+                .thenReturn(List.of());
+
+        index.rebuild();
+
+        assertFalse(index.overlaps(1L, start, start.plusHours(2)));
+    }
+
+    @Test
+    void shouldBuildIndexOnStart() {
+        Item item = new Item();
+        item.setId(1L);
+
+        Booking booking = new Booking();
+        booking.setId(1L);
+        booking.setItem(item);
+        booking.setStartDate(start);
+        booking.setEndDate(start.plusHours(2));
+        booking.setStatus(BookingStatus.APPROVED);
+
+        Mockito
+                .when(repository.findAllByStatusEqualsAndEndDateIsAfter(eq(BookingStatus.APPROVED),
+                        any(LocalDateTime.class)))
+                .thenReturn(List.of(booking));
+
+        index.start();
+
+        assertTrue(index.isRunning());
+        assertTrue(index.overlaps(1L, start, start.plusHours(1)));
+    }
+}
@@ -1,24 +1,36 @@
 package ru.practicum.shareit.booking;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 public class BookingRepositoryTest {
+    @Autowired
+    private TestEntityManager em;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -383,4 +395,163 @@ public class BookingRepositoryTest {
                 .usingRecursiveComparison()
                 .isEqualTo(booking);
     }
+
+    @Test
+    void shouldFindAllByStatusEqualsAndEndDateIsAfter() {
+        List<Booking> bookings = bookingRepository.findAllByStatusEqualsAndEndDateIsAfter(BookingStatus.APPROVED,
+                LocalDateTime.now());
+
+        assertEquals(2, bookings.size());
+        assertTrue(bookings.stream().allMatch(b -> b.getEndDate().isAfter(LocalDateTime.now())));
+    }
+
+    @Test
+    void shouldFindLastAndNextByItemIdIn() {
+        List<ItemBookingView> bookings = bookingRepository.findLastAndNextByItemIdIn(List.of(item.getId()),
+                LocalDateTime.now());
+
+        assertEquals(2, bookings.size());
+        ItemBookingView last = bookings.stream().filter(ItemBookingView::getPast).findFirst().orElseThrow();
+        ItemBookingView next = bookings.stream().filter(b -> !b.getPast()).findFirst().orElseThrow();
+        assertEquals(currentBooking.getId(), last.getId());
+        assertEquals(futureBooking.getId(), next.getId());
+        assertEquals(item.getId(), next.getItemId());
+        assertEquals(user.getId(), next.getBookerId());
+    }
+
+    @Test
+    void shouldReturnEmptyFindLastAndNextByItemIdInWhenNotApproved() {
+        List.of(booking, pastBooking, currentBooking, futureBooking)
+                .forEach(b -> b.setStatus(BookingStatus.WAITING));
+
+        List<ItemBookingView> bookings = bookingRepository.findLastAndNextByItemIdIn(List.of(item.getId()),
+                LocalDateTime.now());
+
+        assertTrue(bookings.isEmpty());
+    }
+
+    @Test
+    void shouldFindAllByBookerIdAfterCursor() {
+        BookingSeekFilter filter = BookingSeekFilter.of(BookingState.ALL, LocalDateTime.now(), BookingCursor.FIRST);
+
+        List<Booking> firstPage = bookingRepository.findAllByBookerIdAfterCursor(user.getId(), filter,
+                PageRequest.ofSize(2));
+
+        assertEquals(2, firstPage.size());
+        assertEquals(futureBooking.getId(), firstPage.get(0).getId());
+        assertEquals(currentBooking.getId(), firstPage.get(1).getId());
+
+        Booking last = firstPage.get(1);
+        filter = BookingSeekFilter.of(BookingState.ALL, LocalDateTime.now(),
+                new BookingCursor(last.getStartDate(), last.getId()));
+
+        List<Booking> secondPage = bookingRepository.findAllByBookerIdAfterCursor(user.getId(), filter,
+                PageRequest.ofSize(2));
+
+        assertEquals(2, secondPage.size());
+        assertEquals(booking.getId(), secondPage.get(0).getId());
+        assertEquals(pastBooking.getId(), secondPage.get(1).getId());
+    }
+
+    @Test
+    void shouldFindAllByItemOwnerIdAfterCursorWithPastState() {
+        BookingSeekFilter filter = BookingSeekFilter.of(BookingState.PAST, LocalDateTime.now(), BookingCursor.FIRST);
+
+        List<Booking> bookings = bookingRepository.findAllByItemOwnerIdAfterCursor(user.getId(), filter,
+                PageRequest.ofSize(10));
+
+        assertEquals(2, bookings.size());
+        assertEquals(booking.getId(), bookings.get(0).getId());
+        assertEquals(pastBooking.getId(), bookings.get(1).getId());
+    }
+
+    @Test
+    void shouldReturnEmptyFindAllByItemOwnerIdAfterCursorWithWaitingState() {
+        BookingSeekFilter filter = BookingSeekFilter.of(BookingState.WAITING, LocalDateTime.now(), BookingCursor.FIRST);
+
+        List<Booking> bookings = bookingRepository.findAllByItemOwnerIdAfterCursor(user.getId(), filter,
+                PageRequest.ofSize(10));
+
+        assertTrue(bookings.isEmpty());
+    }
+
+    @Test
+    void shouldLoadPageOfBookingsWithItemsAndBookersInOneStatement() {
+        for (int i = 0; i < 50; i++) {
+            User owner = new User();
+            owner.setEmail("owner" + i + "@email.ru");
+            owner.setName("owner " + i);
+            userRepository.save(owner);
+
+            Item ownerItem = new Item();
+            ownerItem.setName("item " + i);
+            ownerItem.setDescription("desc " + i);
+            ownerItem.setAvailable(true);
+            ownerItem.setOwner(owner);
+            itemRepository.save(ownerItem);
+
+            Booking ownerItemBooking = new Booking();
+            ownerItemBooking.setStatus(BookingStatus.APPROVED);
+            ownerItemBooking.setStartDate(LocalDateTime.now().plusDays(i + 1));
+            ownerItemBooking.setEndDate(LocalDateTime.now().plusDays(i + 2));
+            ownerItemBooking.setBooker(user);
+            ownerItemBooking.setItem(ownerItem);
+            bookingRepository.save(ownerItemBooking);
+        }
+        em.flush();
+        em.clear();
+
+        Statistics statistics = em.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        List<BookingDto> bookings = bookingRepository.findAllByBookerId(user.getId(),
+                        PageRequest.of(0, 50, Sort.by("startDate").descending()))
+                .stream()
+                .map(BookingMapper::mapToBookingDto)
+                .collect(Collectors.toList());
+
+        assertEquals(50, bookings.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldInsertBookingsInJdbcBatches() {
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            Booking newBooking = new Booking();
+            newBooking.setStatus(BookingStatus.WAITING);
+            newBooking.setStartDate(LocalDateTime.now().plusDays(i + 1));
+            newBooking.setEndDate(LocalDateTime.now().plusDays(i + 2));
+            newBooking.setBooker(user);
+            newBooking.setItem(item);
+            bookings.add(newBooking);
+        }
+        em.flush();
+
+        Statistics statistics = em.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        bookingRepository.saveAll(bookings);
+        em.flush();
+
+        assertEquals(120, statistics.getEntityInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() <= 6);
+    }
+
+    @Test
+    void shouldStreamAllBookingsOfOwnerItemsByStartDescending() {
+        em.flush();
+        em.clear();
+
+        List<Long> ids;
+        try (Stream<Booking> bookings = bookingRepository.streamAllByItemOwnerId(user.getId())) {
+            ids = bookings.map(Booking::getId).collect(Collectors.toList());
+        }
+
+        assertEquals(List.of(futureBooking.getId(), currentBooking.getId(), booking.getId(), pastBooking.getId()), ids);
+    }
 }
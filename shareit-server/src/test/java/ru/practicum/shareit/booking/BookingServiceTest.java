@@ -8,20 +8,30 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingCreateDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.exception.AlreadyApprovedException;
+import ru.practicum.shareit.exception.BookingOverlapException;
+import ru.practicum.shareit.exception.InvalidBatchException;
 import ru.practicum.shareit.exception.NotAvailableItemException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserIdIndex;
 import ru.practicum.shareit.user.UserRepository;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -35,9 +45,18 @@ public class BookingServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserIdIndex userIdIndex;
+
     @Mock
     private ItemRepository itemRepository;
 
+    @Mock
+    private BookingIntervalIndex intervalIndex;
+
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -185,6 +204,27 @@ public class BookingServiceTest {
         assertEquals("Владелец не может забронировать собственную вещь", exception.getMessage());
     }
 
+    @Test
+    void shouldNotCreateBookingWhenItemAlreadyBooked() {
+        Mockito
+                .when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.of(user));
+
+        Mockito
+                .when(itemRepository.findById(bookingCreateDto.getItemId()))
+                .thenReturn(Optional.of(item));
+
+        Mockito
+                .when(intervalIndex.overlaps(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(true);
+
+        BookingOverlapException exception = assertThrows(BookingOverlapException.class,
+                () -> bookingService.create(bookingCreateDto, 2L));
+
+        assertEquals("Вещь уже забронирована на выбранный период", exception.getMessage());
+        Mockito.verify(repository, Mockito.never()).save(any(Booking.class));
+    }
+
     @Test
     void shouldUpdateStatusOfBooking() {
         booking.setStatus(BookingStatus.WAITING);
@@ -193,6 +233,10 @@ public class BookingServiceTest {
                 .when(repository.findById(anyLong()))
                 .thenReturn(Optional.of(booking));
 
+        Mockito
+                .when(intervalIndex.tryAdd(anyLong(), anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(true);
+
         Mockito
                 .when(repository.save(any(Booking.class)))
                 .thenReturn(booking);
@@ -203,6 +247,43 @@ public class BookingServiceTest {
         assertEquals(booking.getStatus(), bookingDto.getStatus());
     }
 
+    @Test
+    void shouldRejectBookingWithoutIndexing() {
+        booking.setStatus(BookingStatus.WAITING);
+
+        Mockito
+                .when(repository.findById(anyLong()))
+                .thenReturn(Optional.of(booking));
+
+        Mockito
+                .when(repository.save(any(Booking.class)))
+                .thenReturn(booking);
+
+        BookingDto bookingDto = bookingService.updateStatus(booking.getId(), user.getId(), false);
+
+        assertEquals(BookingStatus.REJECTED, bookingDto.getStatus());
+        Mockito.verifyNoInteractions(intervalIndex);
+    }
+
+    @Test
+    void shouldNotApproveBookingWhenItemAlreadyBooked() {
+        booking.setStatus(BookingStatus.WAITING);
+
+        Mockito
+                .when(repository.findById(anyLong()))
+                .thenReturn(Optional.of(booking));
+
+        Mockito
+                .when(intervalIndex.tryAdd(anyLong(), anyLong(), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(false);
+
+        BookingOverlapException exception = assertThrows(BookingOverlapException.class,
+                () -> bookingService.updateStatus(booking.getId(), user.getId(), true));
+
+        assertEquals("Вещь уже забронирована на выбранный период", exception.getMessage());
+        assertEquals(BookingStatus.WAITING, booking.getStatus());
+    }
+
     @Test
     void shouldNotUpdateStatusOfBookingWhenUserNotFound() {
         booking.setStatus(BookingStatus.WAITING);
@@ -286,8 +367,8 @@ public class BookingServiceTest {
     @Test
     void shouldGetAllBookingsWithBookingStateAll() {
         Mockito
-                .when(userRepository.findById(anyLong()))
-                .thenReturn(Optional.of(user));
+                .when(userIdIndex.exists(anyLong()))
+                .thenReturn(true);
 
         Mockito
                 .when(repository.findAllByBookerId(anyLong(), any(Pageable.class)))
@@ -302,8 +383,8 @@ public class BookingServiceTest {
     @Test
     void shouldGetAllBookingsWithBookingStateRejected() {
         Mockito
-                .when(userRepository.findById(anyLong()))
-                .thenReturn(Optional.of(user));
+                .when(userIdIndex.exists(anyLong()))
+                .thenReturn(true);
 
         booking.setStatus(BookingStatus.REJECTED);
 
@@ -323,8 +404,8 @@ public class BookingServiceTest {
     @Test
     void shouldGetAllBookingsWithBookingStateWaiting() {
         Mockito
-                .when(userRepository.findById(anyLong()))
-                .thenReturn(Optional.of(user));
+                .when(userIdIndex.exists(anyLong()))
+                .thenReturn(true);
 
         booking.setStatus(BookingStatus.WAITING);
 
@@ -343,8 +424,8 @@ public class BookingServiceTest {
     @Test
     void shouldGetAllBookingsWithBookingStateCurrent() {
         Mockito
-                .when(userRepository.findById(anyLong()))
-                .thenReturn(Optional.of(user));
+                .when(userIdIndex.exists(anyLong()))
+                .thenReturn(true);
 
         Mockito
                 .when(repository.findAllByBookerIdWithCurrentState(anyLong(), any(LocalDateTime.class),
@@ -362,8 +443,8 @@ public class BookingServiceTest {
     @Test
     void shouldGetAllBookingsWithBookingStatePast() {
         Mockito
-                .when(userRepository.findById(anyLong()))
-                .thenReturn(Optional.of(user));
+                .when(userIdIndex.exists(anyLong()))
+                .thenReturn(true);
 
         Mockito
                 .when(repository.findAllByBookerIdWithPastState(anyLong(), any(LocalDateTime.class),
@@ -381,8 +462,8 @@ public class BookingServiceTest {
     @Test
     void shouldGetAllBookingsWithBookingStateFuture() {
         Mockito
-                .when(userRepository.findById(anyLong()))
-                .thenReturn(Optional.of(user));
+                .when(userIdIndex.exists(anyLong()))
+                .thenReturn(true);
 
         Mockito
                 .when(repository.findAllByBookerIdWithFutureState(anyLong(), any(LocalDateTime.class),
@@ -400,8 +481,8 @@ public class BookingServiceTest {
     @Test
     void shouldNotGetAllBookingsWhenUserNotExists() {
         Mockito
-                .when(userRepository.findById(anyLong()))
-                .thenReturn(Optional.empty());
+                .when(userIdIndex.exists(anyLong()))
+                .thenReturn(false);
 
         IllegalStateException exception = assertThrows(IllegalStateException.class,
                 () -> bookingService.getAllByUser(user.getId(), BookingState.FUTURE, Pageable.unpaged()));
@@ -412,8 +493,8 @@ public class BookingServiceTest {
     @Test
     void shouldGetAllBookingsByOwnerWithBookingStateAll() {
         Mockito
-                .when(userRepository.findById(anyLong()))
-                .thenReturn(Optional.of(user));
+                .when(userIdIndex.exists(anyLong()))
+                .thenReturn(true);
 
         Mockito
                 .when(repository.findAllByItemOwnerId(anyLong(), any(Pageable.class)))
@@ -429,8 +510,8 @@ public class BookingServiceTest {
     @Test
     void shouldGetAllBookingsByOwnerWithBookingStateRejected() {
         Mockito
-                .when(userRepository.findById(anyLong()))
-                .thenReturn(Optional.of(user));
+                .when(userIdIndex.exists(anyLong()))
+                .thenReturn(true);
 
         booking.setStatus(BookingStatus.REJECTED);
 
@@ -450,8 +531,8 @@ public class BookingServiceTest {
     @Test
     void shouldGetAllBookingsByOwnerWithBookingStateWaiting() {
         Mockito
-                .when(userRepository.findById(anyLong()))
-                .thenReturn(Optional.of(user));
+                .when(userIdIndex.exists(anyLong()))
+                .thenReturn(true);
 
         booking.setStatus(BookingStatus.WAITING);
 
@@ -470,8 +551,8 @@ public class BookingServiceTest {
     @Test
     void shouldGetAllBookingsByOwnerWithBookingStateCurrent() {
         Mockito
-                .when(userRepository.findById(anyLong()))
-                .thenReturn(Optional.of(user));
+                .when(userIdIndex.exists(anyLong()))
+                .thenReturn(true);
 
         Mockito
                 .when(repository.findAllByItemOwnerIdWithCurrentState(anyLong(), any(LocalDateTime.class),
@@ -489,8 +570,8 @@ public class BookingServiceTest {
     @Test
     void shouldGetAllBookingsByOwnerWithBookingStatePast() {
         Mockito
-                .when(userRepository.findById(anyLong()))
-                .thenReturn(Optional.of(user));
+                .when(userIdIndex.exists(anyLong()))
+                .thenReturn(true);
 
         Mockito
                 .when(repository.findAllByItemOwnerIdWithPastState(anyLong(), any(LocalDateTime.class),
@@ -508,8 +589,8 @@ public class BookingServiceTest {
     @Test
     void shouldGetAllBookingsByOwnerWithBookingStateFuture() {
         Mockito
-                .when(userRepository.findById(anyLong()))
-                .thenReturn(Optional.of(user));
+                .when(userIdIndex.exists(anyLong()))
+                .thenReturn(true);
 
         Mockito
                 .when(repository.findAllByItemOwnerIdWithFutureState(anyLong(), any(LocalDateTime.class),
@@ -527,12 +608,191 @@ public class BookingServiceTest {
     @Test
     void shouldNotGetAllBookingsByOwnerWhenUserNotExists() {
         Mockito
-                .when(userRepository.findById(anyLong()))
-                .thenReturn(Optional.empty());
+                .when(userIdIndex.exists(anyLong()))
+                .thenReturn(false);
 
         IllegalStateException exception = assertThrows(IllegalStateException.class,
                 () -> bookingService.getAllByOwnerItems(user.getId(), BookingState.FUTURE, Pageable.unpaged()));
 
         assertEquals(String.format("Пользователь с идентификатором %s не найден", user.getId()), exception.getMessage());
     }
+
+    @Test
+    void shouldGetAllBookingsOfUserAfterCursor() {
+        Mockito
+                .when(userIdIndex.exists(anyLong()))
+                .thenReturn(true);
+
+        Mockito
+                .when(repository.findAllByBookerIdAfterCursor(anyLong(), any(BookingSeekFilter.class),
+                        any(Pageable.class)))
+                .thenReturn(List.of(booking));
+
+        List<BookingDto> bookings = bookingService.getAllByUser(user.getId(), BookingState.ALL,
+                BookingCursor.FIRST, 10);
+
+        assertEquals(1, bookings.size());
+        assertEquals(BookingMapper.mapToBookingDto(booking), bookings.get(0));
+    }
+
+    @Test
+    void shouldGetAllBookingsOfOwnerItemsAfterCursor() {
+        Mockito
+                .when(userIdIndex.exists(anyLong()))
+                .thenReturn(true);
+
+        Mockito
+                .when(repository.findAllByItemOwnerIdAfterCursor(anyLong(), any(BookingSeekFilter.class),
+                        any(Pageable.class)))
+                .thenReturn(List.of(booking));
+
+        List<BookingDto> bookings = bookingService.getAllByOwnerItems(user.getId(), BookingState.ALL,
+                BookingCursor.FIRST, 10);
+
+        assertEquals(1, bookings.size());
+        assertEquals(BookingMapper.mapToBookingDto(booking), bookings.get(0));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenGetAllBookingsAfterCursorOfUnknownUser() {
+        Mockito
+                .when(userIdIndex.exists(anyLong()))
+                .thenReturn(false);
+
+        assertThrows(IllegalStateException.class,
+                () -> bookingService.getAllByUser(user.getId(), BookingState.ALL, BookingCursor.FIRST, 10));
+    }
+
+    @Test
+    void shouldCreateBookingsInBatchWithPerEntryResults() {
+        User booker = new User();
+        booker.setId(2L);
+        booker.setEmail("booker@email.ru");
+        booker.setName("booker");
+
+        BookingCreateDto overlapping = new BookingCreateDto(null, bookingCreateDto.getStart().plusMinutes(30),
+                bookingCreateDto.getEnd().plusMinutes(30), item.getId());
+        BookingCreateDto unknownItem = new BookingCreateDto(null, bookingCreateDto.getStart(),
+                bookingCreateDto.getEnd(), 99L);
+
+        Mockito
+                .when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.of(booker));
+
+        Mockito
+                .when(itemRepository.findAllById(any()))
+                .thenReturn(List.of(item));
+
+        Mockito
+                .when(repository.saveAll(any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<BookingBatchResultDto> results = bookingService.createAll(
+                List.of(bookingCreateDto, overlapping, unknownItem), booker.getId());
+
+        assertEquals(3, results.size());
+        assertNotNull(results.get(0).getBooking());
+        assertNull(results.get(0).getError());
+        assertNull(results.get(1).getBooking());
+        assertEquals("Период пересекается с другой бронью этого пакета", results.get(1).getError());
+        assertNull(results.get(2).getBooking());
+        assertEquals("Вещь с идентификатором 99 не найдена", results.get(2).getError());
+
+        Mockito.verify(itemRepository, Mockito.times(1)).findAllById(any());
+        Mockito.verify(repository, Mockito.times(1)).saveAll(any());
+    }
+
+    @Test
+    void shouldRejectOwnItemAndUnavailableItemInBatch() {
+        Item unavailable = new Item();
+        unavailable.setId(2L);
+        unavailable.setAvailable(false);
+        unavailable.setOwner(user);
+
+        Mockito
+                .when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.of(user));
+
+        Mockito
+                .when(itemRepository.findAllById(any()))
+                .thenReturn(List.of(item, unavailable));
+
+        Mockito
+                .when(repository.saveAll(any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<BookingBatchResultDto> results = bookingService.createAll(List.of(bookingCreateDto,
+                new BookingCreateDto(null, bookingCreateDto.getStart(), bookingCreateDto.getEnd(), 2L)), user.getId());
+
+        assertEquals("Владелец не может забронировать собственную вещь", results.get(0).getError());
+        assertEquals("Запрещено бронировать недоступную вещь", results.get(1).getError());
+    }
+
+    @Test
+    void shouldRejectMalformedEntriesInBatch() {
+        User booker = new User();
+        booker.setId(2L);
+
+        Mockito
+                .when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.of(booker));
+
+        Mockito
+                .when(itemRepository.findAllById(any()))
+                .thenReturn(List.of(item));
+
+        Mockito
+                .when(repository.saveAll(any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<BookingBatchResultDto> results = bookingService.createAll(Arrays.asList(null,
+                new BookingCreateDto(null, bookingCreateDto.getStart(), bookingCreateDto.getEnd(), null),
+                new BookingCreateDto(null, null, bookingCreateDto.getEnd(), item.getId()),
+                new BookingCreateDto(null, bookingCreateDto.getEnd(), bookingCreateDto.getStart(), item.getId()),
+                new BookingCreateDto(null, LocalDateTime.now().minusDays(1), bookingCreateDto.getEnd(), item.getId()),
+                bookingCreateDto), booker.getId());
+
+        assertEquals("Не указана вещь для бронирования", results.get(0).getError());
+        assertEquals("Не указана вещь для бронирования", results.get(1).getError());
+        assertEquals("Не корректные данные начала или конца бронирования", results.get(2).getError());
+        assertEquals("Не корректные данные начала или конца бронирования", results.get(3).getError());
+        assertEquals("Не корректные данные начала или конца бронирования", results.get(4).getError());
+        assertNull(results.get(5).getError());
+        assertNotNull(results.get(5).getBooking());
+    }
+
+    @Test
+    void shouldThrowWhenBatchIsEmpty() {
+        assertThrows(InvalidBatchException.class,
+                () -> bookingService.createAll(List.of(), user.getId()));
+
+        Mockito.verify(repository, Mockito.never()).saveAll(any());
+    }
+
+    @Test
+    void shouldThrowWhenBatchIsTooLarge() {
+        InvalidBatchException exception = assertThrows(InvalidBatchException.class,
+                () -> bookingService.createAll(Collections.nCopies(101, bookingCreateDto), user.getId()));
+
+        assertEquals("Пакет должен содержать от 1 до 100 броней", exception.getMessage());
+        Mockito.verify(repository, Mockito.never()).saveAll(any());
+    }
+
+    @Test
+    void shouldExportAllBookingsOfOwnerItems() {
+        Mockito
+                .when(userIdIndex.exists(anyLong()))
+                .thenReturn(true);
+
+        Mockito
+                .when(repository.streamAllByItemOwnerId(anyLong()))
+                .thenReturn(Stream.of(futureBooking, currentBooking, pastBooking));
+
+        List<BookingDto> exported = new ArrayList<>();
+        long count = bookingService.exportAllByOwnerItems(user.getId(), exported::add);
+
+        assertEquals(3, count);
+        assertEquals(List.of(futureBooking.getId(), currentBooking.getId(), pastBooking.getId()),
+                exported.stream().map(BookingDto::getId).collect(Collectors.toList()));
+    }
 }
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@WebMvcTest(BookingController.class)
+class ExportTimeoutConfigTest {
+    private static final long EXPORT_TIMEOUT = Duration.ofMinutes(10).toMillis();
+
+    @Autowired
+    private MockMvc mvc;
+
+    @MockBean
+    private BookingService bookingService;
+
+    @Test
+    void shouldApplyExportTimeoutToExport() throws Exception {
+        MvcResult result = mvc.perform(get("/bookings/owner/export")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertEquals(EXPORT_TIMEOUT, result.getRequest().getAsyncContext().getTimeout());
+    }
+}
@@ -0,0 +1,110 @@
+package ru.practicum.shareit.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserUpdateDto;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class EntityCacheTest {
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    private UserDto owner;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        UserDto userDto = new UserDto();
+        userDto.setName("owner");
+        userDto.setEmail("owner" + System.nanoTime() + "@email.ru");
+        owner = userService.create(userDto);
+    }
+
+    @Test
+    void shouldReadUserFromCacheWithoutQuery() {
+        statistics.clear();
+
+        userService.get(owner.getId());
+        userService.get(owner.getId());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(2, statistics.getDomainDataRegionStatistics(EntityCacheRegionFactory.USERS).getHitCount());
+    }
+
+    @Test
+    void shouldRefreshCachedUserOnUpdate() {
+        userService.get(owner.getId());
+
+        userService.update(new UserUpdateDto(owner.getId(), "Новое имя", null));
+
+        assertEquals("Новое имя", userService.get(owner.getId()).getName());
+    }
+
+    @Test
+    void shouldEvictCachedUserOnRemove() {
+        userService.get(owner.getId());
+
+        userService.remove(owner.getId());
+
+        assertThrows(NotFoundException.class, () -> userService.get(owner.getId()));
+    }
+
+    @Test
+    void shouldRefreshCachedItemOnUpdate() {
+        ItemDto item = itemService.create(newItem(null, "Дрель", true), owner.getId());
+        itemRepository.findById(item.getId());
+
+        itemService.update(newItem(item.getId(), "Перфоратор", null), owner.getId());
+        statistics.clear();
+
+        assertEquals("Перфоратор", itemRepository.findById(item.getId()).orElseThrow().getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void shouldExportCacheMetrics() {
+        userService.get(owner.getId());
+
+        assertNotNull(meterRegistry.find("cache.gets").tags("cache", EntityCacheRegionFactory.USERS).functionCounter());
+        assertNotNull(meterRegistry.find("cache.evictions").tags("cache", EntityCacheRegionFactory.ITEMS).functionCounter());
+    }
+
+    private static ItemCreateDto newItem(Long id, String name, Boolean available) {
+        ItemCreateDto itemCreateDto = new ItemCreateDto();
+        itemCreateDto.setId(id);
+        itemCreateDto.setName(name);
+        itemCreateDto.setDescription(name);
+        itemCreateDto.setAvailable(available);
+        return itemCreateDto;
+    }
+}
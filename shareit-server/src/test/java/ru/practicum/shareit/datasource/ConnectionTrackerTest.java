@@ -0,0 +1,101 @@
+package ru.practicum.shareit.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import ru.practicum.shareit.user.UserIdIndex;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.UserServiceImpl;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConnectionTrackerTest {
+    private HikariDataSource hikari;
+    private ConnectionTracker tracker;
+    private DataSource dataSource;
+    private final List<Connection> opened = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        hikari = new HikariDataSource();
+        hikari.setJdbcUrl("jdbc:h2:mem:tracker");
+        hikari.setPoolName("primary");
+        hikari.setMaximumPoolSize(3);
+        tracker = new ConnectionTracker();
+        dataSource = (DataSource) tracker.postProcessAfterInitialization(hikari, "dataSource");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (Connection connection : opened) {
+            connection.close();
+        }
+        hikari.close();
+    }
+
+    @Test
+    void shouldReportHeldConnectionsOldestFirstWithOwningServiceMethod() throws Exception {
+        opened.add(dataSource.getConnection());
+        Thread.sleep(5);
+
+        UserRepository repository = Mockito.mock(UserRepository.class);
+        Mockito.when(repository.findAll()).thenAnswer(invocation -> {
+            opened.add(dataSource.getConnection());
+            return List.of();
+        });
+        AspectJProxyFactory factory = new AspectJProxyFactory(new UserServiceImpl(repository, Mockito.mock(UserIdIndex.class)));
+        factory.addInterface(UserService.class);
+        factory.addAspect(new ConnectionOwnerAspect());
+        UserService userService = factory.getProxy();
+        userService.getAll();
+
+        List<HeldConnection> held = tracker.longestHeld(10);
+
+        assertEquals(2, held.size());
+        assertNull(held.get(0).getOwner());
+        assertEquals("UserServiceImpl.getAll", held.get(1).getOwner());
+        assertEquals("primary", held.get(1).getPool());
+        assertTrue(held.get(0).getHeldMillis() >= held.get(1).getHeldMillis());
+        assertNull(ConnectionTracker.currentOwner());
+        assertEquals(1, tracker.longestHeld(1).size());
+    }
+
+    @Test
+    void shouldForgetConnectionOnClose() throws Exception {
+        Connection connection = dataSource.getConnection();
+        assertEquals(1, tracker.longestHeld(10).size());
+
+        connection.close();
+
+        assertTrue(tracker.longestHeld(10).isEmpty());
+    }
+
+    @Test
+    void shouldReportPoolSaturation() throws Exception {
+        opened.add(dataSource.getConnection());
+        opened.add(dataSource.getConnection());
+
+        PoolState state = tracker.pools().get(0);
+
+        assertEquals("primary", state.getPool());
+        assertEquals(2, state.getActive());
+        assertEquals(0, state.getPending());
+        assertEquals(3, state.getMax());
+    }
+
+    @Test
+    void shouldLeaveOtherBeansUntouched() {
+        Object bean = new Object();
+
+        assertSame(bean, tracker.postProcessAfterInitialization(bean, "bean"));
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.datasource;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReadYourWritesFilterTest {
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofMinutes(1));
+    private final ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+            Mockito.mock(DataSource.class), Mockito.mock(DataSource.class));
+
+    @Test
+    void shouldReadFromReplicaWithoutRecentWrites() throws Exception {
+        assertEquals("REPLICA", read(1L));
+    }
+
+    @Test
+    void shouldReadFromPrimaryOnceWriteResponseIsCommitted() throws Exception {
+        AtomicReference<String> target = new AtomicReference<>();
+
+        filter.doFilter(request("POST", 1L), new MockHttpServletResponse(), (request, response) -> {
+            response.flushBuffer();
+            target.set(read(1L));
+        });
+
+        assertEquals("PRIMARY", target.get());
+        assertEquals("PRIMARY", read(1L));
+        assertEquals("REPLICA", read(2L));
+    }
+
+    @Test
+    void shouldKeepReadingFromReplicaAfterFailedWrite() throws Exception {
+        filter.doFilter(request("POST", 1L), new MockHttpServletResponse(),
+                (request, response) -> ((HttpServletResponse) response).setStatus(400));
+
+        assertEquals("REPLICA", read(1L));
+    }
+
+    private String read(long userId) throws ServletException, IOException {
+        AtomicReference<String> target = new AtomicReference<>();
+        FilterChain chain = (request, response) -> {
+            TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+            try {
+                target.set(String.valueOf(routing.determineCurrentLookupKey()));
+            } finally {
+                TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+            }
+        };
+        filter.doFilter(request("GET", userId), new MockHttpServletResponse(), chain);
+        return target.get();
+    }
+
+    private static MockHttpServletRequest request(String method, long userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/bookings");
+        request.addHeader("X-Sharer-User-Id", userId);
+        return request;
+    }
+}
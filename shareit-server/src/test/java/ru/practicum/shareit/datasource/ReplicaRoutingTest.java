@@ -0,0 +1,140 @@
+package ru.practicum.shareit.datasource;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingCreateDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.core.Is.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:shareit-primary",
+        "shareit.datasource.replica.url=jdbc:h2:mem:shareit-replica",
+        "shareit.datasource.replica.username=test",
+        "shareit.datasource.replica.password=test",
+        "shareit.datasource.replica.max-lag=1m"
+})
+@AutoConfigureMockMvc
+class ReplicaRoutingTest {
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper mapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate replica;
+
+    private User owner;
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        Flyway.configure()
+                .dataSource(replicaDataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .load()
+                .migrate();
+        replica = new JdbcTemplate(replicaDataSource);
+
+        owner = userRepository.save(newUser("owner"));
+        booker = userRepository.save(newUser("booker"));
+
+        item = new Item();
+        item.setName("Дрель");
+        item.setDescription("Дрель с основной базы");
+        item.setAvailable(true);
+        item.setOwner(owner);
+        item = itemRepository.save(item);
+
+        replicate(owner);
+        replicate(booker);
+        replica.update("INSERT INTO items (id, name, description, user_id, is_available) VALUES (?, ?, ?, ?, ?)",
+                item.getId(), item.getName(), item.getDescription(), owner.getId(), true);
+    }
+
+    @Test
+    void shouldServeReadOnlyGetRequestsFromReplica() throws Exception {
+        replica.update("INSERT INTO items (id, name, description, user_id, is_available) VALUES (?, ?, ?, ?, ?)",
+                item.getId() + 1_000_000, "Лестница", "Лестница есть только на реплике", owner.getId(), true);
+
+        mvc.perform(get("/items/search")
+                        .header("X-Sharer-User-Id", booker.getId())
+                        .param("text", "реплике")
+                        .param("from", "0")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].name", is("Лестница")));
+    }
+
+    @Test
+    void shouldReadOwnBookingFromPrimaryWhileReplicaLags() throws Exception {
+        BookingCreateDto bookingCreateDto = new BookingCreateDto();
+        bookingCreateDto.setItemId(item.getId());
+        bookingCreateDto.setStart(LocalDateTime.now().plusDays(1));
+        bookingCreateDto.setEnd(LocalDateTime.now().plusDays(2));
+
+        String response = mvc.perform(post("/bookings")
+                        .header("X-Sharer-User-Id", booker.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(mapper.writeValueAsString(bookingCreateDto)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        long bookingId = mapper.readValue(response, BookingDto.class).getId();
+
+        mvc.perform(get("/bookings/{bookingId}", bookingId)
+                        .header("X-Sharer-User-Id", booker.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(bookingId), Long.class));
+
+        mvc.perform(get("/bookings/{bookingId}", bookingId)
+                        .header("X-Sharer-User-Id", owner.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    private void replicate(User user) {
+        replica.update("INSERT INTO users (id, email, name) VALUES (?, ?, ?)",
+                user.getId(), user.getEmail(), user.getName());
+    }
+
+    private static User newUser(String name) {
+        User user = new User();
+        user.setName(name);
+        user.setEmail(name + System.nanoTime() + "@email.ru");
+        return user;
+    }
+}
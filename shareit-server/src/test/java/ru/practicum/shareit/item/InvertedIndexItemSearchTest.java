@@ -0,0 +1,230 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemSearchIndexStatsDto;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+@ExtendWith(MockitoExtension.class)
+public class InvertedIndexItemSearchTest {
+    @Mock
+    private ItemRepository repository;
+
+    @InjectMocks
+    private InvertedIndexItemSearch itemSearch;
+
+    @BeforeEach
+    void setUp() {
+        Mockito
+                .when(repository.findSearchViewsAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(
+                        getView(1L, "Дрель", "Простая дрель", true, null),
+                        getView(2L, "Отвертка", "Аккумуляторная отвертка", true, 5L),
+                        getView(3L, "Дрель ударная", "Мощная", false, null),
+                        getView(4L, "Клей", "Клей для дрели", true, null)));
+
+        itemSearch.rebuild();
+    }
+
+    @Test
+    void shouldFindItemsByNameOrDescriptionSubstring() {
+        List<Item> items = itemSearch.search("дрел", Pageable.unpaged());
+
+        assertEquals(List.of(1L, 4L), ids(items));
+    }
+
+    @Test
+    void shouldMapIndexedFieldsToItem() {
+        Item item = itemSearch.search("аккумулятор", Pageable.unpaged()).get(0);
+
+        assertEquals(2L, item.getId());
+        assertEquals("Отвертка", item.getName());
+        assertEquals("Аккумуляторная отвертка", item.getDescription());
+        assertTrue(item.getAvailable());
+        assertEquals(5L, item.getRequest().getId());
+    }
+
+    @Test
+    void shouldPaginateResults() {
+        List<Item> items = itemSearch.search("дрел", PageRequest.of(1, 1));
+
+        assertEquals(List.of(4L), ids(items));
+    }
+
+    @Test
+    void shouldScanAllItemsForShortQuery() {
+        List<Item> items = itemSearch.search("ре", Pageable.unpaged());
+
+        assertEquals(List.of(1L, 4L), ids(items));
+    }
+
+    @Test
+    void shouldReturnEmptyWhenNoGramMatches() {
+        assertTrue(itemSearch.search("пила", Pageable.unpaged()).isEmpty());
+    }
+
+    @Test
+    void shouldIndexCreatedAndUpdatedItems() {
+        Item item = new Item();
+        item.setId(5L);
+        item.setName("Пила");
+        item.setDescription("Ручная");
+        item.setAvailable(true);
+        itemSearch.index(item);
+
+        assertEquals(List.of(5L), ids(itemSearch.search("пила", Pageable.unpaged())));
+
+        item.setName("Ножовка");
+        itemSearch.index(item);
+
+        assertTrue(itemSearch.search("пила", Pageable.unpaged()).isEmpty());
+        assertEquals(List.of(5L), ids(itemSearch.search("ножов", Pageable.unpaged())));
+
+        Item updated = new Item();
+        updated.setId(1L);
+        updated.setName("Перфоратор");
+        updated.setDescription("Простой");
+        updated.setAvailable(true);
+        itemSearch.index(updated);
+
+        assertEquals(List.of(4L), ids(itemSearch.search("дрел", Pageable.unpaged())));
+        assertEquals(List.of(1L), ids(itemSearch.search("перфо", Pageable.unpaged())));
+    }
+
+    @Test
+    void shouldDropStaleGramsWhenItemIsReindexed() {
+        ItemSearchIndexStatsDto before = itemSearch.getStats();
+
+        Item updated = new Item();
+        updated.setId(2L);
+        updated.setName("Шуруповерт");
+        updated.setDescription("Аккумуляторный");
+        updated.setAvailable(true);
+        itemSearch.index(updated);
+
+        assertTrue(itemSearch.search("отвер", Pageable.unpaged()).isEmpty());
+        assertEquals(List.of(2L), ids(itemSearch.search("шуруп", Pageable.unpaged())));
+        assertEquals(List.of(2L), ids(itemSearch.search("акк", Pageable.unpaged())));
+
+        itemSearch.index(getItem(2L, "Отвертка"));
+        updated.setName("Отвертка");
+        updated.setDescription("Аккумуляторная отвертка");
+        itemSearch.index(updated);
+
+        ItemSearchIndexStatsDto after = itemSearch.getStats();
+        assertEquals(before.getDocuments(), after.getDocuments());
+        assertEquals(before.getTokens(), after.getTokens());
+        assertEquals(before.getPostings(), after.getPostings());
+    }
+
+    @Test
+    void shouldIndexOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            itemSearch.index(getItem(5L, "Пила"));
+
+            assertTrue(itemSearch.search("пила", Pageable.unpaged()).isEmpty());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(List.of(5L), ids(itemSearch.search("пила", Pageable.unpaged())));
+    }
+
+    @Test
+    void shouldNotIndexRolledBackItem() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            itemSearch.index(getItem(5L, "Пила"));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(itemSearch.search("пила", Pageable.unpaged()).isEmpty());
+    }
+
+    @Test
+    void shouldKeepItemsIndexedDuringRebuild() {
+        Mockito
+                .when(repository.findSearchViewsAfter(eq(0L), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    itemSearch.index(getItem(5L, "Пила"));
+                    return List.of(getView(1L, "Дрель", "Простая дрель", true, null));
+                });
+
+        itemSearch.rebuild();
+
+        assertEquals(List.of(5L), ids(itemSearch.search("пила", Pageable.unpaged())));
+        assertEquals(List.of(1L), ids(itemSearch.search("дрел", Pageable.unpaged())));
+    }
+
+    @Test
+    void shouldReportStats() {
+        ItemSearchIndexStatsDto stats = itemSearch.getStats();
+
+        assertEquals(4, stats.getDocuments());
+        assertTrue(stats.getTokens() > 0);
+        assertTrue(stats.getPostings() >= stats.getTokens());
+        assertTrue(stats.getEstimatedBytes() > stats.getPostingBytes());
+    }
+
+    @Test
+    void shouldRebuildFromEmptyRepository() {
+        Mockito
+                .when(repository.findSearchViewsAfter(eq(0L), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+
+        ItemSearchIndexStatsDto stats = itemSearch.rebuild();
+
+        assertEquals(0, stats.getDocuments());
+        assertTrue(itemSearch.search("дрел", Pageable.unpaged()).isEmpty());
+    }
+
+    private Item getItem(long id, String name) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription("Ручная");
+        item.setAvailable(true);
+        return item;
+    }
+
+    private List<Long> ids(List<Item> items) {
+        return items.stream().map(Item::getId).collect(Collectors.toList());
+    }
+
+    private ItemSearchView getView(long id, String name, String description, boolean available, Long requestId) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("id", id);
+        values.put("name", name);
+        values.put("description", description);
+        values.put("available", available);
+        values.put("requestId", requestId);
+
+        return new SpelAwareProxyProjectionFactory().createProjection(ItemSearchView.class, values);
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.core.Is.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = ItemImportController.class)
+public class ItemImportControllerTest {
+    @MockBean
+    private ItemImportService importService;
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void shouldImportItems() throws Exception {
+        ItemImportResultDto result = new ItemImportResultDto();
+        result.setImported(1);
+        result.setFailed(1);
+        result.getErrors().add(new ItemImportErrorDto(2, "Не удалось разобрать строку"));
+
+        Mockito
+                .when(importService.importItems(anyLong(), any(MediaType.class), any(InputStream.class)))
+                .thenReturn(result);
+
+        mvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType(ItemImportService.NDJSON)
+                        .content("{\"name\":\"Дрель\",\"description\":\"Простая дрель\",\"available\":true}\nне json\n"
+                                .getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported", is(1)))
+                .andExpect(jsonPath("$.failed", is(1)))
+                .andExpect(jsonPath("$.errors[0].line", is(2)));
+    }
+}
@@ -0,0 +1,231 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.InvalidImportFileException;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemImportResultDto;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import javax.persistence.EntityManager;
+import javax.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemImportServiceTest {
+    @Mock
+    private ItemRepository repository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private ItemRequestRepository itemRequestRepository;
+
+    @Mock
+    private ItemSearch itemSearch;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private ItemImportService importService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        importService = new ItemImportServiceImpl(repository, userRepository, itemRequestRepository, itemSearch,
+                new ObjectMapper(), Validation.buildDefaultValidatorFactory().getValidator(),
+                new TransactionTemplate(transactionManager), entityManager);
+
+        user = new User();
+        user.setId(1L);
+        user.setEmail("test@email.ru");
+        user.setName("test name");
+    }
+
+    @Test
+    void shouldImportNdjsonAndReportInvalidLines() throws IOException {
+        ItemRequest request = new ItemRequest();
+        request.setId(5L);
+
+        Mockito
+                .when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.of(user));
+
+        Mockito
+                .when(itemRequestRepository.findAllById(any()))
+                .thenReturn(List.of(request));
+
+        Mockito
+                .when(repository.saveAll(any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        ItemImportResultDto result = importService.importItems(user.getId(), ItemImportService.NDJSON, stream(
+                "{\"name\":\"Дрель\",\"description\":\"Простая дрель\",\"available\":true,\"requestId\":5}\n" +
+                "{\"name\":\"\",\"description\":\"Без имени\",\"available\":true}\n" +
+                "\n" +
+                "не json\n" +
+                "{\"id\":99,\"name\":\"Пила\",\"description\":\"Ручная пила\",\"available\":false}\n"));
+
+        assertEquals(2, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(2, result.getErrors().get(0).getLine());
+        assertTrue(result.getErrors().get(0).getError().startsWith("name"));
+        assertEquals(4, result.getErrors().get(1).getLine());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Item>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(repository, Mockito.times(1)).saveAll(captor.capture());
+        List<Item> saved = captor.getValue();
+        assertEquals(request, saved.get(0).getRequest());
+        assertEquals(user, saved.get(0).getOwner());
+        assertNull(saved.get(1).getId());
+        Mockito.verify(itemSearch, Mockito.times(2)).index(any(Item.class));
+    }
+
+    @Test
+    void shouldImportCsvWithQuotedValues() throws IOException {
+        Mockito
+                .when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.of(user));
+
+        Mockito
+                .when(repository.saveAll(any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        ItemImportResultDto result = importService.importItems(user.getId(), ItemImportService.CSV, stream(
+                "name,description,available,requestId\n" +
+                "Дрель,\"Дрель, аккумуляторная \"\"Bosch\"\"\",true,\n" +
+                "Пила,Ручная пила,maybe,\n"));
+
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(3, result.getErrors().get(0).getLine());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Item>> captor = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(repository).saveAll(captor.capture());
+        assertEquals("Дрель, аккумуляторная \"Bosch\"", captor.getValue().get(0).getDescription());
+    }
+
+    @Test
+    void shouldWriteItemsInBatches() throws IOException {
+        Mockito
+                .when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.of(user));
+
+        Mockito
+                .when(repository.saveAll(any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1200; i++) {
+            content.append("{\"name\":\"Вещь ").append(i).append("\",\"description\":\"Описание\",\"available\":true}\n");
+        }
+
+        ItemImportResultDto result = importService.importItems(user.getId(), ItemImportService.NDJSON,
+                stream(content.toString()));
+
+        assertEquals(1200, result.getImported());
+        Mockito.verify(repository, Mockito.times(3)).saveAll(any());
+        Mockito.verify(entityManager, Mockito.times(3)).clear();
+    }
+
+    @Test
+    void shouldReportFailedBatchAndContinue() throws IOException {
+        Mockito
+                .when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.of(user));
+
+        Mockito
+                .when(repository.saveAll(any()))
+                .thenAnswer(invocation -> invocation.getArgument(0))
+                .thenThrow(new DataIntegrityViolationException("items"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 1200; i++) {
+            content.append("{\"name\":\"Вещь ").append(i).append("\",\"description\":\"Описание\",\"available\":true}\n");
+        }
+
+        ItemImportResultDto result = importService.importItems(user.getId(), ItemImportService.NDJSON,
+                stream(content.toString()));
+
+        assertEquals(700, result.getImported());
+        assertEquals(500, result.getFailed());
+        assertEquals(1, result.getErrors().size());
+        assertEquals(501, result.getErrors().get(0).getLine());
+        assertEquals("Не удалось сохранить строки 501-1000", result.getErrors().get(0).getError());
+        Mockito.verify(repository, Mockito.times(3)).saveAll(any());
+        Mockito.verify(entityManager, Mockito.times(3)).clear();
+    }
+
+    @Test
+    void shouldReportTooLongLine() throws IOException {
+        Mockito
+                .when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.of(user));
+
+        Mockito
+                .when(repository.saveAll(any()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        ItemImportResultDto result = importService.importItems(user.getId(), ItemImportService.NDJSON, stream(
+                "{\"name\":\"" + "a".repeat(20_000) + "\",\"description\":\"Длинная\",\"available\":true}\r\n" +
+                "{\"name\":\"Пила\",\"description\":\"Ручная пила\",\"available\":true}\r\n"));
+
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(1, result.getErrors().get(0).getLine());
+        assertEquals("Строка длиннее 8192 символов", result.getErrors().get(0).getError());
+    }
+
+    @Test
+    void shouldThrowExceptionWhenCsvHeaderHasNoRequiredColumn() {
+        Mockito
+                .when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.of(user));
+
+        assertThrows(InvalidImportFileException.class, () -> importService.importItems(user.getId(),
+                ItemImportService.CSV, stream("name,available\nДрель,true\n")));
+    }
+
+    @Test
+    void shouldThrowExceptionWhenImportForUnknownUser() {
+        Mockito
+                .when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> importService.importItems(user.getId(),
+                ItemImportService.NDJSON, stream("")));
+    }
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
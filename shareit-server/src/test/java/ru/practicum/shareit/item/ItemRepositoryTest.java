@@ -5,6 +5,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
@@ -13,8 +17,7 @@ import ru.practicum.shareit.user.UserRepository;
 import java.time.LocalDateTime;
 import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
 public class ItemRepositoryTest {
@@ -27,6 +30,9 @@ public class ItemRepositoryTest {
     @Autowired
     private ItemRequestRepository itemRequestRepository;
 
+    @Autowired
+    private BookingRepository bookingRepository;
+
     private User owner;
     private User booker;
     private ItemRequest itemRequest1;
@@ -106,6 +112,24 @@ public class ItemRepositoryTest {
         assertEquals(0, items.size());
     }
 
+    @Test
+    @Sql(statements = "CREATE ALIAS IF NOT EXISTS similarity FOR \"ru.practicum.shareit.item.ItemRepositoryTest.similarity\"")
+    void shouldSearchByTrigramWithEscapedWildcards() {
+        Item discounted = new Item();
+        discounted.setName("Скидка 100%");
+        discounted.setDescription("a_b");
+        discounted.setAvailable(true);
+        discounted.setOwner(owner);
+        itemRepository.save(discounted);
+        ItemSearch itemSearch = new TrigramItemSearch(itemRepository);
+
+        assertEquals(List.of(discounted), itemSearch.search("0%", Pageable.unpaged()));
+        assertEquals(List.of(discounted), itemSearch.search("A_B", Pageable.unpaged()));
+        assertEquals(List.of(discounted), itemSearch.search("%", Pageable.unpaged()));
+        assertTrue(itemSearch.search("n_me", Pageable.unpaged()).isEmpty());
+        assertEquals(List.of(item2, item1), itemSearch.search("est", Pageable.unpaged()));
+    }
+
     @Test
     void shouldFindAllByOwnerId() {
         List<Item> items = itemRepository.findAllByOwnerId(owner.getId(), Pageable.unpaged());
@@ -130,4 +154,74 @@ public class ItemRepositoryTest {
 
         assertEquals(0, items.size());
     }
+
+    @Test
+    void shouldFindDetailsByIdWithLastAndNextBookings() {
+        Booking pastBooking = saveBooking(LocalDateTime.now().minusDays(3), LocalDateTime.now().minusDays(2),
+                BookingStatus.APPROVED);
+        Booking lastBooking = saveBooking(LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1),
+                BookingStatus.APPROVED);
+        saveBooking(LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), BookingStatus.REJECTED);
+        Booking nextBooking = saveBooking(LocalDateTime.now().plusDays(2), LocalDateTime.now().plusDays(3),
+                BookingStatus.APPROVED);
+        saveBooking(LocalDateTime.now().plusDays(4), LocalDateTime.now().plusDays(5), BookingStatus.APPROVED);
+
+        ItemDetails itemDetails = itemRepository.findDetailsById(item1.getId(), LocalDateTime.now()).orElse(null);
+
+        assertNotNull(itemDetails);
+        assertEquals(item1.getId(), itemDetails.getId());
+        assertEquals(item1.getName(), itemDetails.getName());
+        assertEquals(owner.getId(), itemDetails.getOwnerId());
+        assertEquals(itemRequest1.getId(), itemDetails.getRequestId());
+        assertNotEquals(pastBooking.getId(), itemDetails.getLastBookingId());
+        assertEquals(lastBooking.getId(), itemDetails.getLastBookingId());
+        assertEquals(booker.getId(), itemDetails.getLastBookerId());
+        assertEquals(nextBooking.getId(), itemDetails.getNextBookingId());
+        assertEquals(booker.getId(), itemDetails.getNextBookerId());
+    }
+
+    @Test
+    void shouldFindDetailsByIdWithoutBookings() {
+        ItemDetails itemDetails = itemRepository.findDetailsById(item3.getId(), LocalDateTime.now()).orElse(null);
+
+        assertNotNull(itemDetails);
+        assertEquals(item3.getId(), itemDetails.getId());
+        assertNull(itemDetails.getLastBookingId());
+        assertNull(itemDetails.getNextBookingId());
+    }
+
+    @Test
+    void shouldReturnEmptyDetailsWhenItemNotFound() {
+        assertTrue(itemRepository.findDetailsById(100L, LocalDateTime.now()).isEmpty());
+    }
+
+    @Test
+    void shouldFindSearchViewsAfterId() {
+        List<ItemSearchView> views = itemRepository.findSearchViewsAfter(item1.getId(), Pageable.ofSize(10));
+
+        assertEquals(2, views.size());
+        assertEquals(item2.getId(), views.get(0).getId());
+        assertEquals(item2.getName(), views.get(0).getName());
+        assertEquals(itemRequest2.getId(), views.get(0).getRequestId());
+        assertEquals(item3.getId(), views.get(1).getId());
+        assertNull(views.get(1).getRequestId());
+    }
+
+    public static double similarity(String value, String text) {
+        if (value == null || value.isEmpty()) {
+            return 0;
+        }
+        return value.toLowerCase().contains(text.toLowerCase()) ? (double) text.length() / value.length() : 0;
+    }
+
+    private Booking saveBooking(LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        Booking booking = new Booking();
+        booking.setStartDate(start);
+        booking.setEndDate(end);
+        booking.setStatus(status);
+        booking.setBooker(booker);
+        booking.setItem(item1);
+
+        return bookingRepository.save(booking);
+    }
 }
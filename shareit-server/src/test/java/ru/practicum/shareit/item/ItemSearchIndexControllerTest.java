@@ -0,0 +1,49 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.dto.ItemSearchIndexStatsDto;
+
+import static org.hamcrest.core.Is.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = ItemSearchIndexController.class, properties = "shareit.search.mode=index")
+public class ItemSearchIndexControllerTest {
+    @MockBean
+    private InvertedIndexItemSearch itemSearch;
+
+    @Autowired
+    private MockMvc mvc;
+
+    private final ItemSearchIndexStatsDto stats = new ItemSearchIndexStatsDto(2, 10, 14, 20, 1000);
+
+    @Test
+    void shouldGetStats() throws Exception {
+        Mockito
+                .when(itemSearch.getStats())
+                .thenReturn(stats);
+
+        mvc.perform(get("/items/search/index"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.documents", is(2)))
+                .andExpect(jsonPath("$.tokens", is(10)));
+    }
+
+    @Test
+    void shouldRebuildIndex() throws Exception {
+        Mockito
+                .when(itemSearch.rebuild())
+                .thenReturn(stats);
+
+        mvc.perform(post("/items/search/index"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.estimatedBytes", is(1000)));
+    }
+}
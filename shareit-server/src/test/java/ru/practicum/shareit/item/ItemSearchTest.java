@@ -0,0 +1,56 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ExtendWith(MockitoExtension.class)
+public class ItemSearchTest {
+    @Mock
+    private ItemRepository repository;
+
+    private final Pageable pageable = Pageable.unpaged();
+
+    @Test
+    void shouldSearchWithLikeQuery() {
+        Item item = new Item();
+        Mockito
+                .when(repository.findByNameOrDescriptionContainingIgnoreCaseAndAvailableTrue("text", "text", pageable))
+                .thenReturn(List.of(item));
+
+        List<Item> items = new LikeItemSearch(repository).search("text", pageable);
+
+        assertEquals(List.of(item), items);
+    }
+
+    @Test
+    void shouldSearchWithTrigramQuery() {
+        Item item = new Item();
+        Mockito
+                .when(repository.searchByTrigram("text", "text", pageable))
+                .thenReturn(List.of(item));
+
+        List<Item> items = new TrigramItemSearch(repository).search("text", pageable);
+
+        assertEquals(List.of(item), items);
+    }
+
+    @Test
+    void shouldEscapeWildcardsInTrigramPattern() {
+        Item item = new Item();
+        Mockito
+                .when(repository.searchByTrigram("100\\% a\\_b c\\\\d", "100% a_b c\\d", pageable))
+                .thenReturn(List.of(item));
+
+        List<Item> items = new TrigramItemSearch(repository).search("100% a_b c\\d", pageable);
+
+        assertEquals(List.of(item), items);
+    }
+}
@@ -9,9 +9,11 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.ItemBookingView;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.exception.NotEndedBookingException;
 import ru.practicum.shareit.exception.NotFoundException;
@@ -27,7 +29,9 @@ import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -45,6 +49,8 @@ public class ItemServiceTest {
     private CommentRepository commentRepository;
     @Mock
     private ItemRequestRepository itemRequestRepository;
+    @Mock
+    private ItemSearch itemSearch;
     @InjectMocks
     private ItemServiceImpl mockItemService;
 
@@ -133,8 +139,8 @@ public class ItemServiceTest {
         long itemId = 1L;
 
         Mockito
-                .when(itemRepository.findById(itemId))
-                .thenReturn(Optional.of(ItemMapper.mapToItem(itemCreateDto, user, null)));
+                .when(itemRepository.findDetailsById(eq(itemId), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(getItemDetails(itemId)));
 
         Mockito
                 .when(commentRepository.findAllByItemId(itemId))
@@ -144,6 +150,30 @@ public class ItemServiceTest {
 
         assertNotNull(itemDto);
         assertEquals(itemDto.getDescription(), itemCreateDto.getDescription());
+        assertNull(itemDto.getLastBooking());
+        assertNull(itemDto.getNextBooking());
+
+        Mockito.verifyNoMoreInteractions(itemRequestRepository, userRepository, itemRepository, commentRepository, bookingRepository);
+    }
+
+    @Test
+    void shouldGetItemByIdWithBookingsWhenUserOwner() {
+        long userId = 1L;
+        long itemId = 1L;
+
+        Mockito
+                .when(itemRepository.findDetailsById(eq(itemId), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(getItemDetails(itemId)));
+
+        Mockito
+                .when(commentRepository.findAllByItemId(itemId))
+                .thenReturn(Collections.emptyList());
+
+        ItemDto itemDto = mockItemService.get(itemId, userId);
+
+        assertEquals(1L, itemDto.getLastBooking().getId());
+        assertEquals(2L, itemDto.getLastBooking().getBookerId());
+        assertNull(itemDto.getNextBooking());
 
         Mockito.verifyNoMoreInteractions(itemRequestRepository, userRepository, itemRepository, commentRepository, bookingRepository);
     }
@@ -154,7 +184,7 @@ public class ItemServiceTest {
         long itemId = 1L;
 
         Mockito
-                .when(itemRepository.findById(itemId))
+                .when(itemRepository.findDetailsById(eq(itemId), any(LocalDateTime.class)))
                 .thenReturn(Optional.empty());
 
         NotFoundException exception = assertThrows(
@@ -175,14 +205,17 @@ public class ItemServiceTest {
                 .when(itemRepository.findAllByOwnerId(ownerId, pageable))
                 .thenReturn(List.of(item));
         Mockito
-                .when(bookingRepository.findAllByItemIdIn(anyList()))
+                .when(bookingRepository.findLastAndNextByItemIdIn(anyList(), any(LocalDateTime.class)))
+                .thenReturn(Collections.emptyList());
+        Mockito
+                .when(commentRepository.findAllByItemIdIn(anyList()))
                 .thenReturn(Collections.emptyList());
 
         List<ItemDto> items = mockItemService.getAll(ownerId,
                 pageable);
 
         assertFalse(items.isEmpty());
-        assertEquals(ItemMapper.mapToItemDto(item), items.get(0));
+        assertEquals(ItemMapper.mapToItemDto(item, null, null, Collections.emptyList()), items.get(0));
 
         Mockito.verifyNoMoreInteractions(itemRequestRepository, userRepository, itemRepository, commentRepository, bookingRepository);
     }
@@ -196,8 +229,8 @@ public class ItemServiceTest {
                 .when(itemRepository.findAllByOwnerId(ownerId, pageable))
                 .thenReturn(List.of(item));
         Mockito
-                .when(bookingRepository.findAllByItemIdIn(anyList()))
-                .thenReturn(List.of(booking));
+                .when(bookingRepository.findLastAndNextByItemIdIn(anyList(), any(LocalDateTime.class)))
+                .thenReturn(List.of(getItemBookingView(item.getId(), booking, true)));
 
         Mockito
                 .when(commentRepository.findAllByItemIdIn(anyList()))
@@ -220,9 +253,6 @@ public class ItemServiceTest {
         Mockito
                 .when(itemRepository.findAllByOwnerId(ownerId, pageable))
                 .thenReturn(Collections.emptyList());
-        Mockito
-                .when(bookingRepository.findAllByItemIdIn(anyList()))
-                .thenReturn(Collections.emptyList());
 
         List<ItemDto> items = mockItemService.getAll(ownerId, pageable);
 
@@ -344,8 +374,7 @@ public class ItemServiceTest {
         item.setOwner(user);
 
         Mockito
-                .when(itemRepository.findByNameOrDescriptionContainingIgnoreCaseAndAvailableTrue(anyString(),
-                        anyString(), any(Pageable.class)))
+                .when(itemSearch.search(anyString(), any(Pageable.class)))
                 .thenReturn(List.of(item));
 
 
@@ -500,4 +529,27 @@ public class ItemServiceTest {
     }
 
 
+
+    private ItemDetails getItemDetails(long itemId) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("id", itemId);
+        values.put("name", itemCreateDto.getName());
+        values.put("description", itemCreateDto.getDescription());
+        values.put("available", itemCreateDto.getAvailable());
+        values.put("ownerId", user.getId());
+        values.put("lastBookingId", 1L);
+        values.put("lastBookerId", 2L);
+
+        return new SpelAwareProxyProjectionFactory().createProjection(ItemDetails.class, values);
+    }
+
+    private ItemBookingView getItemBookingView(long itemId, Booking booking, boolean past) {
+        Map<String, Object> values = new HashMap<>();
+        values.put("itemId", itemId);
+        values.put("id", booking.getId());
+        values.put("bookerId", booking.getBooker().getId());
+        values.put("past", past);
+
+        return new SpelAwareProxyProjectionFactory().createProjection(ItemBookingView.class, values);
+    }
 }
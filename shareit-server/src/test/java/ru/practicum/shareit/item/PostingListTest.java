@@ -0,0 +1,72 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PostingListTest {
+    @Test
+    void shouldAppendAndDecodeIds() {
+        PostingList list = new PostingList();
+        list.add(1L);
+        list.add(200L);
+        list.add(100_000L);
+        list.add(5_000_000_000L);
+
+        assertEquals(4, list.size());
+        assertArrayEquals(new long[]{1L, 200L, 100_000L, 5_000_000_000L}, list.toArray());
+    }
+
+    @Test
+    void shouldInsertOutOfOrderIdsAndIgnoreDuplicates() {
+        PostingList list = new PostingList();
+        list.add(10L);
+        list.add(30L);
+        list.add(20L);
+        list.add(30L);
+        list.add(5L);
+
+        assertEquals(4, list.size());
+        assertArrayEquals(new long[]{5L, 10L, 20L, 30L}, list.toArray());
+    }
+
+    @Test
+    void shouldRemoveIds() {
+        PostingList list = new PostingList();
+        list.add(5L);
+        list.add(10L);
+        list.add(300L);
+
+        list.remove(10L);
+        list.remove(7L);
+        list.remove(1_000L);
+
+        assertEquals(2, list.size());
+        assertArrayEquals(new long[]{5L, 300L}, list.toArray());
+
+        list.remove(300L);
+        list.add(20L);
+
+        assertArrayEquals(new long[]{5L, 20L}, list.toArray());
+    }
+
+    @Test
+    void shouldTrimToEncodedLength() {
+        PostingList list = new PostingList();
+        for (long id = 1; id <= 100; id++) {
+            list.add(id);
+        }
+        list.trim();
+
+        assertEquals(100, list.byteSize());
+        assertEquals(100, list.toArray().length);
+    }
+
+    @Test
+    void shouldIntersectSortedIds() {
+        assertArrayEquals(new long[]{2L, 5L},
+                PostingList.intersect(new long[]{1L, 2L, 5L, 7L}, new long[]{2L, 3L, 5L, 8L}));
+        assertArrayEquals(new long[0], PostingList.intersect(new long[]{1L}, new long[]{2L}));
+    }
+}
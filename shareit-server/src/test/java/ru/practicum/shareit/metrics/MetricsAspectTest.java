@@ -0,0 +1,91 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserIdIndex;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.UserServiceImpl;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+
+public class MetricsAspectTest {
+    private MeterRegistry registry;
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        MetricsAspect aspect = new MetricsAspect(registry);
+
+        UserRepository repository = Mockito.mock(UserRepository.class);
+        Mockito.when(repository.findAll()).thenReturn(List.of(new User(), new User(), new User()));
+        Mockito.when(repository.findById(anyLong())).thenReturn(Optional.empty());
+
+        AspectJProxyFactory repositoryFactory = new AspectJProxyFactory(repository);
+        repositoryFactory.addInterface(UserRepository.class);
+        repositoryFactory.addAspect(aspect);
+
+        AspectJProxyFactory serviceFactory = new AspectJProxyFactory(
+                new UserServiceImpl(repositoryFactory.getProxy(), Mockito.mock(UserIdIndex.class)));
+        serviceFactory.addInterface(UserService.class);
+        serviceFactory.addAspect(aspect);
+        userService = serviceFactory.getProxy();
+    }
+
+    @Test
+    void shouldTimeServiceMethods() {
+        userService.getAll();
+        userService.getAll();
+
+        Timer timer = registry.find(MetricsAspect.SERVICE_INVOCATIONS)
+                .tags("class", "UserServiceImpl", "method", "getAll", "exception", "none")
+                .timer();
+
+        assertNotNull(timer);
+        assertEquals(2, timer.count());
+    }
+
+    @Test
+    void shouldTagFailedServiceInvocationsWithException() {
+        assertThrows(NotFoundException.class, () -> userService.get(1L));
+
+        Timer timer = registry.find(MetricsAspect.SERVICE_INVOCATIONS)
+                .tags("method", "get", "exception", "NotFoundException")
+                .timer();
+
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void shouldRecordRepositoryRowCounts() {
+        userService.getAll();
+        assertThrows(NotFoundException.class, () -> userService.get(1L));
+
+        DistributionSummary findAll = registry.find(MetricsAspect.REPOSITORY_ROWS)
+                .tags("repository", "UserRepository", "method", "findAll")
+                .summary();
+        DistributionSummary findById = registry.find(MetricsAspect.REPOSITORY_ROWS)
+                .tags("repository", "UserRepository", "method", "findById")
+                .summary();
+
+        assertNotNull(findAll);
+        assertEquals(3, findAll.totalAmount());
+        assertNotNull(findById);
+        assertEquals(1, findById.count());
+        assertEquals(0, findById.totalAmount());
+    }
+}
@@ -16,6 +16,7 @@ import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserIdIndex;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.util.Collections;
@@ -32,6 +33,8 @@ public class ItemRequestServiceTest {
     @Mock
     private UserRepository userRepository;
     @Mock
+    private UserIdIndex userIdIndex;
+    @Mock
     private ItemRepository itemRepository;
     @Mock
     private ItemRequestRepository itemRequestRepository;
@@ -94,8 +97,8 @@ public class ItemRequestServiceTest {
         long requestorId = 1L;
 
         Mockito
-                .when(userRepository.findById(requestorId))
-                .thenReturn(Optional.of(user));
+                .when(userIdIndex.exists(requestorId))
+                .thenReturn(true);
 
         ItemRequestCreateDto itemRequestCreateDto = new ItemRequestCreateDto("test description");
         ItemRequest itemRequest = ItemRequestMapper.mapToItemRequest(itemRequestCreateDto, user);
@@ -125,8 +128,8 @@ public class ItemRequestServiceTest {
         long requestorId = 1L;
 
         Mockito
-                .when(userRepository.findById(requestorId))
-                .thenReturn(Optional.of(user));
+                .when(userIdIndex.exists(requestorId))
+                .thenReturn(true);
 
         Mockito
                 .when(itemRequestRepository.findAllByRequestorId(requestorId, Sort.by("created").descending()))
@@ -149,8 +152,8 @@ public class ItemRequestServiceTest {
         long requestorId = 1L;
 
         Mockito
-                .when(userRepository.findById(requestorId))
-                .thenReturn(Optional.empty());
+                .when(userIdIndex.exists(requestorId))
+                .thenReturn(false);
 
 
         NotFoundException exception = assertThrows(
@@ -167,8 +170,8 @@ public class ItemRequestServiceTest {
         long requestorId = 1L;
 
         Mockito
-                .when(userRepository.findById(requestorId))
-                .thenReturn(Optional.of(user));
+                .when(userIdIndex.exists(requestorId))
+                .thenReturn(true);
 
         ItemRequestCreateDto itemRequestCreateDto = new ItemRequestCreateDto("test description");
         ItemRequest itemRequest = ItemRequestMapper.mapToItemRequest(itemRequestCreateDto, user);
@@ -200,8 +203,8 @@ public class ItemRequestServiceTest {
         long requestorId = 1L;
 
         Mockito
-                .when(userRepository.findById(requestorId))
-                .thenReturn(Optional.of(user));
+                .when(userIdIndex.exists(requestorId))
+                .thenReturn(true);
 
         Pageable pageable = PageRequest.of(0, Integer.MAX_VALUE, Sort.by("created").descending());
         Mockito
@@ -225,8 +228,8 @@ public class ItemRequestServiceTest {
         long requestorId = 1L;
 
         Mockito
-                .when(userRepository.findById(requestorId))
-                .thenReturn(Optional.empty());
+                .when(userIdIndex.exists(requestorId))
+                .thenReturn(false);
 
 
         NotFoundException exception = assertThrows(
@@ -246,8 +249,8 @@ public class ItemRequestServiceTest {
         long requestId = 1L;
 
         Mockito
-                .when(userRepository.findById(requestorId))
-                .thenReturn(Optional.of(user));
+                .when(userIdIndex.exists(requestorId))
+                .thenReturn(true);
 
         ItemRequestCreateDto itemRequestCreateDto = new ItemRequestCreateDto("test description");
         ItemRequest itemRequest = ItemRequestMapper.mapToItemRequest(itemRequestCreateDto, user);
@@ -274,8 +277,8 @@ public class ItemRequestServiceTest {
         long requestId = 1L;
 
         Mockito
-                .when(userRepository.findById(requestorId))
-                .thenReturn(Optional.of(user));
+                .when(userIdIndex.exists(requestorId))
+                .thenReturn(true);
 
         Mockito
                 .when(itemRequestRepository.findById(requestId))
@@ -297,8 +300,8 @@ public class ItemRequestServiceTest {
         long requestId = 1L;
 
         Mockito
-                .when(userRepository.findById(requestorId))
-                .thenReturn(Optional.empty());
+                .when(userIdIndex.exists(requestorId))
+                .thenReturn(false);
 
 
         NotFoundException exception = assertThrows(
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+
+@ExtendWith(MockitoExtension.class)
+public class UserIdIndexTest {
+    @Mock
+    private UserRepository repository;
+
+    @InjectMocks
+    private UserIdIndex index;
+
+    @Test
+    void shouldAnswerFromIndexWithoutQuery() {
+        Mockito
+                .when(repository.findAllIds())
+                .thenReturn(List.of(1L, 2L, 50L));
+
+        index.rebuild();
+
+        assertTrue(index.exists(1L));
+        assertTrue(index.exists(50L));
+        Mockito.verify(repository, Mockito.never()).existsById(anyLong());
+    }
+
+    @Test
+    void shouldKeepChangesMadeDuringRebuild() {
+        Mockito
+                .when(repository.findAllIds())
+                .thenAnswer(invocation -> {
+                    index.remove(2L);
+                    index.add(3L);
+                    return List.of(1L, 2L);
+                });
+        Mockito
+                .when(repository.existsById(2L))
+                .thenReturn(false);
+
+        index.rebuild();
+
+        assertTrue(index.exists(1L));
+        assertTrue(index.exists(3L));
+        assertFalse(index.exists(2L));
+        Mockito.verify(repository).existsById(2L);
+    }
+
+    @Test
+    void shouldFallBackToQueryAndRememberFoundUser() {
+        Mockito
+                .when(repository.existsById(7L))
+                .thenReturn(true);
+
+        assertTrue(index.exists(7L));
+        assertTrue(index.exists(7L));
+
+        Mockito.verify(repository, Mockito.times(1)).existsById(7L);
+    }
+
+    @Test
+    void shouldNotFindUnknownUser() {
+        Mockito
+                .when(repository.existsById(3L))
+                .thenReturn(false);
+
+        assertFalse(index.exists(3L));
+    }
+
+    @Test
+    void shouldQueryAgainAfterRemove() {
+        index.add(5L);
+        index.remove(5L);
+        Mockito
+                .when(repository.existsById(5L))
+                .thenReturn(false);
+
+        assertFalse(index.exists(5L));
+    }
+
+    @Test
+    void shouldNotReAddUserRemovedWhileQueryWasRunning() {
+        Mockito
+                .when(repository.existsById(6L))
+                .thenAnswer(invocation -> {
+                    index.remove(6L);
+                    return true;
+                })
+                .thenReturn(false);
+
+        assertTrue(index.exists(6L));
+        assertFalse(index.exists(6L));
+    }
+
+    @Test
+    void shouldNotIndexIdsAboveLimit() {
+        long userId = UserIdIndex.MAX_INDEXED_ID;
+        index.add(userId);
+        Mockito
+                .when(repository.existsById(userId))
+                .thenReturn(true);
+
+        assertTrue(index.exists(userId));
+        assertTrue(index.exists(userId));
+
+        Mockito.verify(repository, Mockito.times(2)).existsById(userId);
+    }
+
+    @Test
+    void shouldQueryForIdsOutsideIndex() {
+        index.add(Long.MAX_VALUE);
+        Mockito
+                .when(repository.existsById(Long.MAX_VALUE))
+                .thenReturn(true);
+
+        assertTrue(index.exists(Long.MAX_VALUE));
+    }
+}
@@ -7,6 +7,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
@@ -26,6 +28,8 @@ import static org.mockito.Mockito.verify;
 public class UserServiceTest {
     @Mock
     private UserRepository repository;
+    @Mock
+    private UserIdIndex idIndex;
     @InjectMocks
     private UserServiceImpl mockUserService;
 
@@ -49,6 +53,7 @@ public class UserServiceTest {
 
         assertEquals(userDto, UserMapper.mapToUserDto(user));
 
+        verify(idIndex, times(1)).add(user.getId());
         Mockito.verifyNoMoreInteractions(repository);
     }
 
@@ -117,11 +122,29 @@ public class UserServiceTest {
         Mockito.verifyNoMoreInteractions(repository);
     }
 
+    @Test
+    void shouldRemoveUserFromIndexOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            mockUserService.remove(user.getId());
+
+            verify(idIndex, Mockito.never()).remove(anyLong());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(repository, times(1)).deleteById(user.getId());
+        verify(idIndex, times(1)).remove(user.getId());
+    }
+
     @Test
     void shouldDeleteUserWhenUser() {
         mockUserService.remove(user.getId());
 
         verify(repository, times(1)).deleteById(user.getId());
+        verify(idIndex, times(1)).remove(user.getId());
 
         Mockito.verifyNoMoreInteractions(repository);
     }